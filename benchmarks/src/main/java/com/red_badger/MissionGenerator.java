@@ -0,0 +1,317 @@
+package com.red_badger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Writes valid missions of any size straight to a stream, holding nothing but a few recent robots in memory. The same
+ * settings always produce the same bytes.
+ * <p>
+ * A robot either wanders about the grid without ever stepping towards the edge from a cell next to it, or heads
+ * straight off the grid. The share of the latter is {@link Settings#lossRate()}; fewer of them are reported lost, as
+ * scent left by an earlier robot saves those that follow it off the same cell. A repeated robot copies the pose and
+ * program of one of the last {@value #RECENT_ROBOTS} robots.
+ * <p>
+ * Grids larger than 50 and programs longer than 100 commands need the limits raised, see {@code MissionLimits}.
+ * <p>
+ * {@code java -cp benchmarks/target/benchmarks.jar com.red_badger.MissionGenerator [--seed 42] [--grid 50x50]
+ * [--robots 1000] [--max-length 100] [--lengths uniform|fixed|short] [--loss-rate 0.1] [--repeat-rate 0] <file>}
+ */
+public final class MissionGenerator {
+
+    public static final String USAGE = "Usage: [--seed n] [--grid XxY] [--robots n] [--max-length n] "
+            + "[--lengths uniform|fixed|short] [--loss-rate 0-1] [--repeat-rate 0-1] <mission file>";
+    public static final int RECENT_ROBOTS = 64;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    /**
+     * Two coordinates of up to 10 digits, an orientation, separators and line breaks.
+     */
+    private static final int MAX_ROBOT_OVERHEAD = 32;
+    /**
+     * Clockwise from north, so turning right adds one.
+     */
+    private static final byte[] ORIENTATIONS = {'N', 'E', 'S', 'W'};
+    private static final int[] X_INCREMENTS = {0, 1, 0, -1};
+    private static final int[] Y_INCREMENTS = {1, 0, -1, 0};
+
+    /**
+     * How program lengths are spread between 1 and the maximum.
+     */
+    public enum LengthDistribution {
+        /**
+         * Every program has the maximum length.
+         */
+        FIXED,
+        UNIFORM,
+        /**
+         * Mostly short programs: every length is three quarters as likely as the one before it.
+         */
+        SHORT
+    }
+
+    /**
+     * @param gridX      upper-right x of the grid
+     * @param gridY      upper-right y of the grid
+     * @param lossRate   the share of robots that head off the grid
+     * @param repeatRate the share of robots that repeat a recent robot
+     */
+    public record Settings(long seed, int gridX, int gridY, long robots, int maxProgramLength,
+                           LengthDistribution lengths, double lossRate, double repeatRate) {
+
+        public static final Settings DEFAULT = new Settings(42L, 50, 50, 1_000, 100, LengthDistribution.UNIFORM, 0.1, 0);
+
+        public Settings {
+            if (gridX < 0 || gridY < 0 || robots < 1 || maxProgramLength < 1) {
+                throw new IllegalArgumentException("Grid must not be negative, robots and program length must be positive, provided = " + this);
+            }
+            if (lossRate < 0 || lossRate > 1 || repeatRate < 0 || repeatRate > 1) {
+                throw new IllegalArgumentException("Rates must be within 0-1, provided = " + this);
+            }
+        }
+
+        public Settings withSeed(final long seed) {
+            return new Settings(seed, gridX, gridY, robots, maxProgramLength, lengths, lossRate, repeatRate);
+        }
+
+        public Settings withGrid(final int gridX, final int gridY) {
+            return new Settings(seed, gridX, gridY, robots, maxProgramLength, lengths, lossRate, repeatRate);
+        }
+
+        public Settings withRobots(final long robots) {
+            return new Settings(seed, gridX, gridY, robots, maxProgramLength, lengths, lossRate, repeatRate);
+        }
+
+        public Settings withPrograms(final int maxProgramLength, final LengthDistribution lengths) {
+            return new Settings(seed, gridX, gridY, robots, maxProgramLength, lengths, lossRate, repeatRate);
+        }
+
+        public Settings withLossRate(final double lossRate) {
+            return new Settings(seed, gridX, gridY, robots, maxProgramLength, lengths, lossRate, repeatRate);
+        }
+
+        public Settings withRepeatRate(final double repeatRate) {
+            return new Settings(seed, gridX, gridY, robots, maxProgramLength, lengths, lossRate, repeatRate);
+        }
+    }
+
+    private final Settings settings;
+    private final SplittableRandom random;
+    private final byte[] buffer;
+    private int position;
+    private OutputStream output;
+
+    // the robot being generated, and the last few robots in a ring
+    private int xCord;
+    private int yCord;
+    private int heading;
+    private final byte[] program;
+    private int programLength;
+    private final byte[][] recentRobots = new byte[RECENT_ROBOTS][];
+    private int recentCount;
+
+    public MissionGenerator(final Settings settings) {
+        this.settings = settings;
+        this.random = new SplittableRandom(settings.seed());
+        this.program = new byte[settings.maxProgramLength()];
+        this.buffer = new byte[Math.max(BUFFER_SIZE, settings.maxProgramLength() + MAX_ROBOT_OVERHEAD)];
+    }
+
+    public static void main(final String[] args) throws IOException {
+        Settings settings = Settings.DEFAULT;
+        if (args.length % 2 == 0) {
+            System.err.println(USAGE);
+            return;
+        }
+        for (int i = 0; i < args.length - 1; i += 2) {
+            final String value = args[i + 1];
+            settings = switch (args[i]) {
+                case "--seed" -> settings.withSeed(Long.parseLong(value));
+                case "--grid" -> settings.withGrid(Integer.parseInt(value.substring(0, value.indexOf('x'))),
+                        Integer.parseInt(value.substring(value.indexOf('x') + 1)));
+                case "--robots" -> settings.withRobots(Long.parseLong(value));
+                case "--max-length" -> settings.withPrograms(Integer.parseInt(value), settings.lengths());
+                case "--lengths" -> settings.withPrograms(settings.maxProgramLength(), LengthDistribution.valueOf(value.toUpperCase()));
+                case "--loss-rate" -> settings.withLossRate(Double.parseDouble(value));
+                case "--repeat-rate" -> settings.withRepeatRate(Double.parseDouble(value));
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i] + ". " + USAGE);
+            };
+        }
+        write(settings, Path.of(args[args.length - 1]));
+    }
+
+    public static void write(final Settings settings, final Path mission) throws IOException {
+        try (OutputStream output = Files.newOutputStream(mission)) {
+            new MissionGenerator(settings).write(output);
+        }
+    }
+
+    /**
+     * Writes the whole mission; can only be called once.
+     */
+    public void write(final OutputStream output) throws IOException {
+        this.output = output;
+        writeNumber(settings.gridX());
+        writeByte(' ');
+        writeNumber(settings.gridY());
+        writeByte('\n');
+        for (long robot = 0; robot < settings.robots(); robot++) {
+            if (recentCount > 0 && random.nextDouble() < settings.repeatRate()) {
+                writeBytes(recentRobots[random.nextInt(Math.min(recentCount, RECENT_ROBOTS))]);
+                continue;
+            }
+            if (random.nextDouble() < settings.lossRate()) {
+                generateLostRobot();
+            } else {
+                generateWanderingRobot();
+            }
+            final int start = writeRobot();
+            if (settings.repeatRate() > 0) {
+                recentRobots[recentCount++ % RECENT_ROBOTS] = Arrays.copyOfRange(buffer, start, position);
+            }
+        }
+        output.write(buffer, 0, position);
+        position = 0;
+    }
+
+    private void generateWanderingRobot() {
+        xCord = random.nextInt(settings.gridX() + 1);
+        yCord = random.nextInt(settings.gridY() + 1);
+        heading = random.nextInt(ORIENTATIONS.length);
+        final int startX = xCord;
+        final int startY = yCord;
+        final int startHeading = heading;
+
+        programLength = programLength();
+        for (int command = 0; command < programLength; command++) {
+            final int choice = random.nextInt(4);
+            if (choice < 2 && isInside(xCord + X_INCREMENTS[heading], yCord + Y_INCREMENTS[heading])) {
+                xCord += X_INCREMENTS[heading];
+                yCord += Y_INCREMENTS[heading];
+                program[command] = 'F';
+            } else if (choice == 3) {
+                heading = (heading + 3) & 3;
+                program[command] = 'L';
+            } else {
+                heading = (heading + 1) & 3;
+                program[command] = 'R';
+            }
+        }
+        xCord = startX;
+        yCord = startY;
+        heading = startHeading;
+    }
+
+    /**
+     * Turns towards an edge and moves until it falls off, starting close enough to make it within the program. The
+     * program has a length drawn like any other; moves after the robot has fallen off are ignored. A program too short
+     * to turn as well already faces the edge.
+     */
+    private void generateLostRobot() {
+        final int target = random.nextInt(ORIENTATIONS.length);
+        heading = random.nextInt(ORIENTATIONS.length);
+        final int length = programLength();
+        int turns = (target - heading) & 3;
+        if (length <= (turns == 2 ? 2 : Math.min(turns, 1))) {
+            heading = target;
+            turns = 0;
+        }
+        final int extent = X_INCREMENTS[target] != 0 ? settings.gridX() : settings.gridY();
+        final int turnCommands = turns == 2 ? 2 : Math.min(turns, 1);
+        final int distance = random.nextInt(Math.min(extent + 1, length - turnCommands));
+        final int cross = random.nextInt((X_INCREMENTS[target] != 0 ? settings.gridY() : settings.gridX()) + 1);
+
+        // distance cells away from the edge the robot leaves through
+        final int along = X_INCREMENTS[target] + Y_INCREMENTS[target] > 0 ? extent - distance : distance;
+        xCord = X_INCREMENTS[target] != 0 ? along : cross;
+        yCord = X_INCREMENTS[target] != 0 ? cross : along;
+
+        programLength = 0;
+        switch (turns) {
+            case 1 -> program[programLength++] = 'R';
+            case 2 -> {
+                program[programLength++] = 'R';
+                program[programLength++] = 'R';
+            }
+            case 3 -> program[programLength++] = 'L';
+            default -> {
+            }
+        }
+        while (programLength < length) {
+            program[programLength++] = 'F';
+        }
+    }
+
+    private int programLength() {
+        final int max = settings.maxProgramLength();
+        return switch (settings.lengths()) {
+            case FIXED -> max;
+            case UNIFORM -> 1 + random.nextInt(max);
+            case SHORT -> {
+                int length = 1;
+                while (length < max && random.nextInt(4) != 0) {
+                    length++;
+                }
+                yield length;
+            }
+        };
+    }
+
+    private boolean isInside(final int x, final int y) {
+        return x >= 0 && y >= 0 && x <= settings.gridX() && y <= settings.gridY();
+    }
+
+    /**
+     * @return where the robot starts in the buffer, which holds the whole robot
+     */
+    private int writeRobot() throws IOException {
+        ensureCapacity(programLength + MAX_ROBOT_OVERHEAD);
+        final int start = position;
+        writeNumber(xCord);
+        writeByte(' ');
+        writeNumber(yCord);
+        writeByte(' ');
+        writeByte(ORIENTATIONS[heading]);
+        writeByte('\n');
+        System.arraycopy(program, 0, buffer, position, programLength);
+        position += programLength;
+        buffer[position++] = '\n';
+        return start;
+    }
+
+    private void writeNumber(final int value) throws IOException {
+        ensureCapacity(11);
+        final int digits = value == 0 ? 1 : (int) Math.log10(value) + 1;
+        int remaining = value;
+        for (int digit = digits - 1; digit >= 0; digit--) {
+            buffer[position + digit] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        position += digits;
+    }
+
+    private void writeBytes(final byte[] bytes) throws IOException {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void writeByte(final int value) throws IOException {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    /**
+     * Makes room for {@code length} more bytes, writing the buffer out if needed.
+     */
+    private void ensureCapacity(final int length) throws IOException {
+        if (position + length > buffer.length) {
+            output.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.red_badger;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generates reproducible mission input for the benchmarks.
+ */
+public final class MissionInputs {
+
+    public static final int GRID_SIZE = 50;
+    public static final int MAX_PROGRAM_LENGTH = 100;
+
+    private static final char[] ORIENTATIONS = {'N', 'S', 'E', 'W'};
+    private static final char[] COMMANDS = {'L', 'R', 'F', 'F'};
+    private static final long SEED = 42L;
+
+    private MissionInputs() {
+    }
+
+    public static List<String> lines(final int robots) {
+        final var random = new SplittableRandom(SEED);
+        final List<String> lines = new ArrayList<>(robots * 2 + 1);
+        lines.add(GRID_SIZE + " " + GRID_SIZE);
+        final var program = new StringBuilder(MAX_PROGRAM_LENGTH);
+        for (int i = 0; i < robots; i++) {
+            lines.add(random.nextInt(GRID_SIZE + 1) + " " + random.nextInt(GRID_SIZE + 1) + " "
+                    + ORIENTATIONS[random.nextInt(ORIENTATIONS.length)]);
+            program.setLength(0);
+            final int length = 1 + random.nextInt(MAX_PROGRAM_LENGTH);
+            for (int c = 0; c < length; c++) {
+                program.append(COMMANDS[random.nextInt(COMMANDS.length)]);
+            }
+            lines.add(program.toString());
+        }
+        return lines;
+    }
+
+    public static byte[] text(final int robots) {
+        return String.join("\n", lines(robots)).getBytes(StandardCharsets.US_ASCII);
+    }
+}
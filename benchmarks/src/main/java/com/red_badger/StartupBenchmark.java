@@ -0,0 +1,90 @@
+package com.red_badger;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to run a small mission from standard input in a new process, as the container does for every mission.
+ * Run it from the project root. Only the plain jar is measured by default; build the other distributions first to
+ * compare them, e.g. {@code mvn package -Pappcds} and {@code mvn package -Pnative}, then pass
+ * {@code -p distribution=jar,appcds,native}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final String JAR = "martian-robots-1.0-SNAPSHOT-jar-with-dependencies.jar";
+    private static final String APPCDS_ARCHIVE = "martian-robots.jsa";
+    private static final String NATIVE_IMAGE = "martian-robots";
+
+    /**
+     * {@code jar}, {@code appcds} or {@code native}.
+     */
+    @Param({"jar"})
+    private String distribution;
+
+    /**
+     * The build directory of the application.
+     */
+    @Param({"target"})
+    private String target;
+
+    private List<String> command;
+    private Path mission;
+
+    @Setup
+    public void setUp() throws IOException {
+        final Path targetDirectory = Path.of(target);
+        command = new ArrayList<>();
+        switch (distribution) {
+            case "jar" -> command.addAll(List.of(javaExecutable(), "-jar", requireFile(targetDirectory.resolve(JAR), "mvn package")));
+            case "appcds" -> command.addAll(List.of(javaExecutable(),
+                    "-XX:SharedArchiveFile=" + requireFile(targetDirectory.resolve(APPCDS_ARCHIVE), "mvn package -Pappcds"),
+                    "-jar", requireFile(targetDirectory.resolve(JAR), "mvn package")));
+            case "native" -> command.add(requireFile(targetDirectory.resolve(NATIVE_IMAGE), "mvn package -Pnative"));
+            default -> throw new IllegalArgumentException("Unknown distribution: " + distribution);
+        }
+        mission = Files.createTempFile("mission", ".txt");
+        Files.write(mission, MissionInputs.text(10));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(mission);
+    }
+
+    @Benchmark
+    public int runMission() throws IOException, InterruptedException {
+        final Process process = new ProcessBuilder(command)
+                .redirectInput(mission.toFile())
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        final int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException("Mission exited with " + exitCode + ": " + command);
+        }
+        return exitCode;
+    }
+
+    private static String javaExecutable() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private static String requireFile(final Path file, final String build) {
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalStateException(file.toAbsolutePath() + " not found, build it with `" + build + "`");
+        }
+        return file.toString();
+    }
+}
@@ -0,0 +1,74 @@
+package com.red_badger.domain;
+
+import com.red_badger.enums.Command;
+import com.red_badger.enums.Orientation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MarsRobotBenchmark {
+
+    private static final int GRID_SIZE = 50;
+    private static final int POSITIONS = 1024;
+
+    /**
+     * Whether the grid is one that missions on many threads can share, see {@link Grid#createConcurrentGrid}.
+     */
+    @Param({"false", "true"})
+    public boolean concurrent;
+
+    private Grid grid;
+    private MarsRobot robot;
+    private int[] xCords;
+    private int[] yCords;
+    private Orientation[] orientations;
+    private int position;
+
+    @Setup
+    public void setUp() {
+        grid = concurrent
+                ? Grid.createConcurrentGrid(GRID_SIZE, GRID_SIZE, Grid.MAX_VALUE)
+                : Grid.createGrid(GRID_SIZE, GRID_SIZE);
+        robot = new MarsRobot(0, 0, Orientation.N);
+
+        final var random = new SplittableRandom(42L);
+        xCords = new int[POSITIONS];
+        yCords = new int[POSITIONS];
+        orientations = new Orientation[POSITIONS];
+        for (int i = 0; i < POSITIONS; i++) {
+            xCords[i] = random.nextInt(GRID_SIZE + 1);
+            yCords[i] = random.nextInt(GRID_SIZE + 1);
+            orientations[i] = Orientation.values()[random.nextInt(Orientation.values().length)];
+            if (random.nextBoolean()) {
+                grid.scentPosition(xCords[i], yCords[i], orientations[i]);
+            }
+        }
+    }
+
+    @Benchmark
+    public int move() {
+        // keeps the robot in the middle of the grid so that it is never lost
+        robot.setYCord(GRID_SIZE / 2);
+        robot.move(grid, Command.F);
+        return robot.getYCord();
+    }
+
+    @Benchmark
+    public Orientation turn() {
+        robot.turn(Command.L);
+        return robot.getOrientation();
+    }
+
+    @Benchmark
+    public boolean hasPositionBeenScented() {
+        final int i = position++ & (POSITIONS - 1);
+        return grid.hasPositionBeenScented(xCords[i], yCords[i], orientations[i]);
+    }
+}
@@ -0,0 +1,82 @@
+package com.red_badger.domain;
+
+import com.red_badger.enums.Command;
+import com.red_badger.enums.Orientation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulates a fleet one robot at a time against stepping it in batches with either {@link FleetStepper}. Small grids
+ * send most robots to the scalar scent path early, large ones let them step in lanes to the end.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "--add-modules", "jdk.incubator.vector"})
+public class RobotFleetBenchmark {
+
+    private static final int ROBOTS = 100_000;
+    private static final int MAX_PROGRAM_LENGTH = 100;
+    private static final Command[] COMMANDS = {Command.L, Command.R, Command.F, Command.F};
+
+    @Param({"sequential", "scalar", "vector"})
+    private String engine;
+
+    @Param({"50", "100000"})
+    private int gridSize;
+
+    private int[] xCords;
+    private int[] yCords;
+    private Orientation[] orientations;
+    private List<List<Command>> programs;
+    private RobotFleet fleet;
+    private Grid grid;
+
+    @Setup(Level.Trial)
+    public void setUpRobots() {
+        final var random = new SplittableRandom(42L);
+        xCords = new int[ROBOTS];
+        yCords = new int[ROBOTS];
+        orientations = new Orientation[ROBOTS];
+        programs = new ArrayList<>(ROBOTS);
+        for (int robot = 0; robot < ROBOTS; robot++) {
+            xCords[robot] = random.nextInt(gridSize + 1);
+            yCords[robot] = random.nextInt(gridSize + 1);
+            orientations[robot] = Orientation.values()[random.nextInt(Orientation.values().length)];
+            final List<Command> program = new ArrayList<>(MAX_PROGRAM_LENGTH);
+            final int length = 1 + random.nextInt(MAX_PROGRAM_LENGTH);
+            for (int command = 0; command < length; command++) {
+                program.add(COMMANDS[random.nextInt(COMMANDS.length)]);
+            }
+            programs.add(program);
+        }
+    }
+
+    // robots are moved in place, so every invocation needs a fresh fleet and grid
+    @Setup(Level.Invocation)
+    public void setUpFleet() {
+        fleet = new RobotFleet(ROBOTS, "vector".equals(engine) ? new VectorFleetStepper() : new ScalarFleetStepper());
+        for (int robot = 0; robot < ROBOTS; robot++) {
+            fleet.add(xCords[robot], yCords[robot], orientations[robot], programs.get(robot));
+        }
+        grid = Grid.createGrid(gridSize, gridSize, gridSize);
+    }
+
+    @Benchmark
+    public RobotFleet simulate() {
+        if ("sequential".equals(engine)) {
+            for (int robot = 0; robot < fleet.size(); robot++) {
+                fleet.simulate(robot, grid);
+            }
+        } else {
+            fleet.simulateBatch(0, fleet.size(), grid);
+        }
+        return fleet;
+    }
+}
@@ -0,0 +1,81 @@
+package com.red_badger.service;
+
+import com.red_badger.MissionInputs;
+import com.red_badger.domain.AbstractRobot;
+import com.red_badger.domain.Grid;
+import com.red_badger.enums.Command;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class InputParserBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int robots;
+
+    private List<String> lines;
+    private byte[] text;
+    private Path missionFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        lines = MissionInputs.lines(robots);
+        text = MissionInputs.text(robots);
+        missionFile = Files.createTempFile("mission", ".txt");
+        Files.write(missionFile, text);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(missionFile);
+    }
+
+    @Benchmark
+    public InputParser.Configuration parseConfiguration() {
+        return new InputParser().parseConfiguration(lines);
+    }
+
+    @Benchmark
+    public void parseInput(final Blackhole blackhole) {
+        new InputParser().parseInput(new ByteArrayInputStream(text), new InputParser.MissionListener() {
+            @Override
+            public void onGrid(final Grid grid) {
+                blackhole.consume(grid);
+            }
+
+            @Override
+            public void onRobot(final AbstractRobot robot, final List<Command> commands) {
+                blackhole.consume(robot);
+                blackhole.consume(commands);
+            }
+        });
+    }
+
+    @Benchmark
+    public void readMappedFile(final Blackhole blackhole) throws IOException {
+        new MappedMissionReader().read(missionFile, new InputParser.MissionListener() {
+            @Override
+            public void onGrid(final Grid grid) {
+                blackhole.consume(grid);
+            }
+
+            @Override
+            public void onRobot(final AbstractRobot robot, final List<Command> commands) {
+                blackhole.consume(robot);
+                blackhole.consume(commands);
+            }
+        });
+    }
+}
@@ -0,0 +1,60 @@
+package com.red_badger.service;
+
+import com.red_badger.MissionInputs;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link #processInput()} runs over a parsed {@link InputParser.Configuration}, which keys robots by their starting
+ * pose, so it simulates at most one robot per distinct pose. {@link #simulateMission(Blackhole)} runs every robot
+ * through the streaming parse-and-simulate path used by the application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class InputProcessorBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int robots;
+
+    private List<String> lines;
+    private byte[] text;
+    private InputProcessor inputProcessor;
+    private InputParser.FleetConfiguration fleetConfiguration;
+
+    @Setup(Level.Trial)
+    public void setUpInput() {
+        lines = MissionInputs.lines(robots);
+        text = MissionInputs.text(robots);
+    }
+
+    // robots are moved in place, so every invocation needs a freshly parsed mission
+    @Setup(Level.Invocation)
+    public void setUpProcessor() {
+        final InputParser.Configuration configuration = new InputParser().parseConfiguration(lines);
+        inputProcessor = new InputProcessor(configuration.grid(), configuration.robots());
+        fleetConfiguration = new InputParser().parseFleet(new ByteArrayInputStream(text));
+    }
+
+    @Benchmark
+    public List<String> processInput() {
+        return inputProcessor.processInput();
+    }
+
+    @Benchmark
+    public void processFleet(final Blackhole blackhole) {
+        new InputProcessor(fleetConfiguration.grid()).processFleet(fleetConfiguration.fleet(), blackhole::consume);
+    }
+
+    @Benchmark
+    public void simulateMission(final Blackhole blackhole) {
+        new InputParser().parseInput(new ByteArrayInputStream(text), new MissionRunner(blackhole::consume));
+    }
+}
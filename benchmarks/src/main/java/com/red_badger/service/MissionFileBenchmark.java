@@ -0,0 +1,65 @@
+package com.red_badger.service;
+
+import com.red_badger.MissionGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs whole missions from a generated file, as {@code --file} and standard input do, without holding the mission in
+ * memory. Soak runs pass larger inputs, e.g. {@code -p robots=100000000} for a mission file of about 5 GB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+public class MissionFileBenchmark {
+
+    @Param({"10000000"})
+    private long robots;
+
+    @Param({"0.1"})
+    private double lossRate;
+
+    @Param({"0"})
+    private double repeatRate;
+
+    private Path missionFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        missionFile = Files.createTempFile("mission", ".txt");
+        MissionGenerator.write(MissionGenerator.Settings.DEFAULT
+                .withRobots(robots)
+                .withLossRate(lossRate)
+                .withRepeatRate(repeatRate), missionFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(missionFile);
+    }
+
+    @Benchmark
+    public void readMappedFile() throws IOException {
+        final var resultWriter = new ResultWriter(OutputStream.nullOutputStream());
+        new MappedMissionReader().read(missionFile, new MissionRunner(resultWriter));
+        resultWriter.flush();
+    }
+
+    @Benchmark
+    public void parseInput() throws IOException {
+        final var resultWriter = new ResultWriter(OutputStream.nullOutputStream());
+        try (InputStream input = Files.newInputStream(missionFile)) {
+            new InputParser().parseInput(input, new MissionRunner(resultWriter));
+        }
+        resultWriter.flush();
+    }
+}
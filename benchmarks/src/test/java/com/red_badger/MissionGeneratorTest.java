@@ -0,0 +1,62 @@
+package com.red_badger;
+
+import com.red_badger.service.InputParser;
+import com.red_badger.service.MissionRunner;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MissionGeneratorTest {
+
+    private static final MissionGenerator.Settings SETTINGS = MissionGenerator.Settings.DEFAULT
+            .withRobots(2_000)
+            .withLossRate(0.3)
+            .withRepeatRate(0.2);
+
+    @Test
+    void sameSettingsProduceSameBytes() throws IOException {
+        assertThat(generate(SETTINGS)).isEqualTo(generate(SETTINGS));
+        assertThat(generate(SETTINGS.withSeed(7))).isNotEqualTo(generate(SETTINGS));
+    }
+
+    @Test
+    void generatedMissionParses() throws IOException {
+        assertThat(run(generate(SETTINGS))).hasSize(2_000).anyMatch(result -> result.endsWith(" LOST"));
+    }
+
+    @Test
+    void lostRobotsFitShortPrograms() throws IOException {
+        final var settings = SETTINGS.withPrograms(1, MissionGenerator.LengthDistribution.UNIFORM).withLossRate(1);
+
+        assertThat(run(generate(settings))).hasSize(2_000);
+    }
+
+    @Test
+    void fixedLengthsApplyToEveryProgram() throws IOException {
+        final var settings = SETTINGS.withPrograms(10, MissionGenerator.LengthDistribution.FIXED).withLossRate(0.5);
+        final String[] lines = new String(generate(settings), StandardCharsets.US_ASCII).split("\n");
+
+        // the grid line, then a pose and a program line per robot
+        assertThat(Arrays.stream(lines).skip(1).filter(line -> !line.contains(" "))).hasSize(2_000).allMatch(program -> program.length() == 10);
+    }
+
+    private static byte[] generate(final MissionGenerator.Settings settings) throws IOException {
+        final var output = new ByteArrayOutputStream();
+        new MissionGenerator(settings).write(output);
+        return output.toByteArray();
+    }
+
+    private static List<String> run(final byte[] mission) {
+        final List<String> results = new ArrayList<>();
+        new InputParser().parseInput(new ByteArrayInputStream(mission), new MissionRunner(results::add));
+        return results;
+    }
+}
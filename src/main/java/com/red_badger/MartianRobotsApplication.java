@@ -1,21 +1,217 @@
 package com.red_badger;
 
 import com.red_badger.exception.InvalidInputException;
-import com.red_badger.service.InputProcessor;
+import com.red_badger.metrics.EngineMetrics;
+import com.red_badger.service.BatchRunner;
+import com.red_badger.service.BinaryMissionReader;
+import com.red_badger.service.BinaryMissionWriter;
+import com.red_badger.service.CheckpointListener;
 import com.red_badger.service.InputParser;
+import com.red_badger.service.InputProcessor;
+import com.red_badger.service.MappedMissionReader;
+import com.red_badger.service.MissionPipeline;
+import com.red_badger.service.MissionRunner;
+import com.red_badger.service.MissionServer;
+import com.red_badger.service.MissionTextWriter;
+import com.red_badger.service.ParallelMissionReader;
+import com.red_badger.service.ParallelMissionRunner;
+import com.red_badger.service.ResultWriter;
+import com.red_badger.trace.PathTracer;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 
 public class MartianRobotsApplication {
 
+    public static final String PIPELINE_OPTION = "--pipeline";
+    public static final String PARALLEL_OPTION = "--parallel";
+    public static final String FILE_OPTION = "--file";
+    public static final String FILE_USAGE = "Usage: " + FILE_OPTION + " <mission file>";
+    public static final String FLEET_OPTION = "--fleet";
+    public static final String FLEET_USAGE = "Usage: " + FLEET_OPTION + " <mission file>";
+    public static final String BATCH_OPTION = "--batch";
+    public static final String BATCH_USAGE = "Usage: " + BATCH_OPTION + " <missions directory | manifest file> <output directory>";
+    public static final String TO_BINARY_OPTION = "--to-binary";
+    public static final String TO_TEXT_OPTION = "--to-text";
+    public static final String CONVERT_USAGE = "Usage: " + TO_BINARY_OPTION + " | " + TO_TEXT_OPTION + " <input file> <output file>";
+    public static final String SERVE_OPTION = "--serve";
+    public static final String SERVE_USAGE = "Usage: " + SERVE_OPTION + " [port]";
+    public static final String PRINT_TRACE_OPTION = "--print-trace";
+    public static final String PRINT_TRACE_USAGE = "Usage: " + PRINT_TRACE_OPTION + " <trace file>";
+
     public static void main(String[] args) {
-        final var validator = new InputParser();
+        final String mode = args.length > 0 ? args[0] : "";
         try {
-            final InputParser.Configuration configuration = validator.parseInput();
-            final var inputProcessor = new InputProcessor(configuration.grid(), configuration.robots());
-            inputProcessor.processInput().forEach(System.out::println);
+            enableMetrics();
+            switch (mode) {
+                case PIPELINE_OPTION -> runPipeline();
+                case PARALLEL_OPTION -> runParallel();
+                case FILE_OPTION -> runFile(args);
+                case FLEET_OPTION -> runFleet(args);
+                case BATCH_OPTION -> runBatch(args);
+                case TO_BINARY_OPTION, TO_TEXT_OPTION -> convert(args);
+                case SERVE_OPTION -> runServer(args);
+                case PRINT_TRACE_OPTION -> printTrace(args);
+                default -> runStandardInput();
+            }
         } catch (final InvalidInputException e) {
             System.err.println(e.getMessage());
         } catch (final Exception e) {
             System.err.println("Something went wrong. Please try again.");
         }
     }
+
+    /**
+     * Publishes the engine metrics over JMX and prints a summary of them at exit, if asked to.
+     */
+    private static void enableMetrics() {
+        if (Boolean.getBoolean(EngineMetrics.JMX_PROPERTY)) {
+            EngineMetrics.registerMBeans();
+        }
+        if (Boolean.getBoolean(EngineMetrics.SUMMARY_PROPERTY)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> System.err.println(EngineMetrics.get().getSummary())));
+        }
+    }
+
+    private static void runStandardInput() throws IOException {
+        final var resultWriter = new ResultWriter(System.out);
+        final var tracer = PathTracer.fromSystemProperties();
+        try {
+            new InputParser().parseInput(System.in, CheckpointListener.fromSystemProperties(new MissionRunner(resultWriter, tracer)));
+        } finally {
+            resultWriter.flush();
+            closeTracer(tracer);
+        }
+    }
+
+    private static void runPipeline() {
+        new MissionPipeline().run(System.in, new ResultWriter(System.out));
+    }
+
+    private static void runParallel() {
+        final var resultWriter = new ResultWriter(System.out);
+        try {
+            new InputParser().parseInput(System.in, CheckpointListener.fromSystemProperties(new ParallelMissionRunner(resultWriter)));
+        } finally {
+            resultWriter.flush();
+        }
+    }
+
+    private static void closeTracer(final PathTracer tracer) throws IOException {
+        if (tracer != null) {
+            tracer.close();
+        }
+    }
+
+    private static void runFile(final String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println(FILE_USAGE);
+            return;
+        }
+        final Path mission = Path.of(args[1]);
+        final var resultWriter = new ResultWriter(System.out);
+        final var tracer = PathTracer.fromSystemProperties();
+        try {
+            final var listener = CheckpointListener.fromSystemProperties(new MissionRunner(resultWriter, tracer));
+            if (BinaryMissionReader.isBinaryMission(mission)) {
+                try (InputStream input = Files.newInputStream(mission)) {
+                    new BinaryMissionReader().read(input, listener);
+                }
+            } else if (Files.size(mission) >= ParallelMissionReader.PARALLEL_THRESHOLD
+                    && Runtime.getRuntime().availableProcessors() > 1) {
+                new ParallelMissionReader().read(mission, listener);
+            } else {
+                new MappedMissionReader().read(mission, listener);
+            }
+        } finally {
+            resultWriter.flush();
+            closeTracer(tracer);
+        }
+    }
+
+    /**
+     * Parses the whole mission into a {@link com.red_badger.domain.RobotFleet} before simulating it in batches, so an
+     * invalid mission reports its error without any results.
+     */
+    private static void runFleet(final String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println(FLEET_USAGE);
+            return;
+        }
+        final InputParser.FleetConfiguration configuration;
+        try (InputStream input = Files.newInputStream(Path.of(args[1]))) {
+            configuration = new InputParser().parseFleet(input);
+        }
+        final var resultWriter = new ResultWriter(System.out);
+        try {
+            new InputProcessor(configuration.grid()).processFleet(configuration.fleet(), resultWriter);
+        } finally {
+            resultWriter.flush();
+        }
+    }
+
+    /**
+     * Converts into a temporary file next to the output file, which only replaces the output file once the whole mission
+     * has been converted, so that an invalid mission never leaves a truncated conversion behind.
+     */
+    private static void convert(final String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println(CONVERT_USAGE);
+            return;
+        }
+        final Path output = Path.of(args[2]).toAbsolutePath();
+        final Path partialOutput = Files.createTempFile(output.getParent(), output.getFileName().toString(), ".tmp");
+        try {
+            if (TO_BINARY_OPTION.equals(args[0])) {
+                try (var writer = new BinaryMissionWriter(Files.newOutputStream(partialOutput))) {
+                    new MappedMissionReader().read(Path.of(args[1]), writer);
+                }
+            } else {
+                try (InputStream input = Files.newInputStream(Path.of(args[1]));
+                     var writer = new MissionTextWriter(Files.newOutputStream(partialOutput))) {
+                    new BinaryMissionReader().read(input, writer);
+                }
+            }
+            Files.move(partialOutput, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(partialOutput);
+        }
+    }
+
+    private static void runBatch(final String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println(BATCH_USAGE);
+            return;
+        }
+        new BatchRunner().run(Path.of(args[1]), Path.of(args[2])).stream()
+                .filter(BatchRunner.MissionReport::failed)
+                .forEach(report -> System.err.println(report.mission() + ": " + report.error()));
+    }
+
+    private static void printTrace(final String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println(PRINT_TRACE_USAGE);
+            return;
+        }
+        final var output = new PrintStream(new BufferedOutputStream(System.out), false);
+        PathTracer.print(Path.of(args[1]), output::println);
+        output.flush();
+    }
+
+    private static void runServer(final String[] args) throws IOException {
+        if (args.length > 2 || (args.length == 2 && !args[1].matches("\\d{1,5}"))) {
+            System.err.println(SERVE_USAGE);
+            return;
+        }
+        final int port = args.length == 2 ? Integer.parseInt(args[1]) : MissionServer.DEFAULT_PORT;
+        try (var server = MissionServer.fromSystemProperties(port)) {
+            System.err.println("Serving missions on localhost:" + server.getPort());
+            server.run();
+        }
+    }
 }
@@ -1,8 +1,11 @@
 package com.red_badger.domain;
 
 import com.red_badger.enums.Command;
+import com.red_badger.enums.CommandResult;
 import com.red_badger.enums.Orientation;
 import com.red_badger.exception.RobotLostException;
+import com.red_badger.metrics.EngineMetrics;
+import com.red_badger.metrics.MotionMetrics;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.Setter;
@@ -39,7 +42,49 @@ public abstract class AbstractRobot {
         }
     }
 
+    /**
+     * Executes the commands until the robot is lost, without throwing {@link RobotLostException}.
+     *
+     * @return {@link CommandResult#LOST} if the robot fell off the grid, {@link CommandResult#EXECUTED} otherwise
+     */
+    public CommandResult executeCommands(final Grid grid, final List<Command> commands) {
+        for (Command command : commands) {
+            if (executeCommand(grid, command) == CommandResult.LOST) {
+                return CommandResult.LOST;
+            }
+        }
+        return CommandResult.EXECUTED;
+    }
+
+    public CommandResult executeCommand(final Grid grid, final Command command) {
+        if (command.isMovement()) {
+            return tryMove(grid, command);
+        }
+        turn(command);
+        return CommandResult.EXECUTED;
+    }
+
+    /**
+     * Executes a compiled program with the same outcome as {@link #executeCommands(Grid, List)} for its commands.
+     */
+    public CommandResult executeProgram(final Grid grid, final CompiledProgram program) {
+        return executeProgram(grid, program, EngineMetrics.get());
+    }
+
+    /**
+     * Same as {@link #executeProgram(Grid, CompiledProgram)}, counting moves, turns and scent-blocked moves into the
+     * given metrics.
+     */
+    public abstract CommandResult executeProgram(Grid grid, CompiledProgram program, MotionMetrics metrics);
+
+    /**
+     * @return an independent robot with the same position and orientation as this one
+     */
+    public abstract AbstractRobot copy();
+
     protected abstract void turn(Command command);
 
     protected abstract void move(Grid grid, Command command) throws RobotLostException;
+
+    protected abstract CommandResult tryMove(Grid grid, Command command);
 }
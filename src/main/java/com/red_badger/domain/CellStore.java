@@ -0,0 +1,45 @@
+package com.red_badger.domain;
+
+/**
+ * The state of every cell of a {@link Grid} as a set of bits: one per orientation that led a robot off the grid from
+ * the cell, and one for a robot parked on it. Stores also count what has been added, as plain fields unless the store
+ * is shared between threads.
+ */
+interface CellStore {
+
+    /**
+     * @return the bits of the cell, 0 if none are set
+     */
+    int get(int xCord, int yCord);
+
+    /**
+     * @return {@code true} if the bit was not set before
+     */
+    boolean add(int xCord, int yCord, int bit);
+
+    /**
+     * @return how many cells have {@link Grid#OCCUPIED_BIT} set
+     */
+    int occupiedCells();
+
+    /**
+     * @return how many bits have been added, so that a change to the store can be noticed
+     */
+    long version();
+
+    /**
+     * @return an independent store with the same bits and counts
+     */
+    CellStore copy();
+
+    /**
+     * Visits every cell that has at least one bit set, in no particular order.
+     */
+    void forEachMarkedCell(CellVisitor visitor);
+
+    @FunctionalInterface
+    interface CellVisitor {
+
+        void visit(int xCord, int yCord, int bits);
+    }
+}
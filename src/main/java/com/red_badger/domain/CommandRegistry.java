@@ -0,0 +1,74 @@
+package com.red_badger.domain;
+
+import com.red_badger.enums.Command;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The commands a mission may use, looked up by their input character through a 128-entry table. Every reader of a
+ * mission validates its instructions through the registry, so a command becomes available in every input format by
+ * registering it. The registry maps characters to {@link Command} constants; the robots execute them from the
+ * constants' quarter turns and direction multiplier.
+ * <p>
+ * Registries are immutable; {@link #withCommand(Command)} returns a new one.
+ */
+public final class CommandRegistry {
+
+    private static final int TABLE_SIZE = 128;
+    private static final CommandRegistry STANDARD = new CommandRegistry(EnumSet.copyOf(Command.getStandardCommands()));
+
+    private final Set<Command> commands;
+    private final Command[] commandsBySymbol = new Command[TABLE_SIZE];
+
+    private CommandRegistry(final Set<Command> commands) {
+        this.commands = Collections.unmodifiableSet(commands);
+        for (Command command : commands) {
+            final char symbol = command.getCommand().charAt(0);
+            commandsBySymbol[Character.toUpperCase(symbol)] = command;
+            commandsBySymbol[Character.toLowerCase(symbol)] = command;
+        }
+    }
+
+    /**
+     * @return the commands allowed by the mission specification: {@code L}, {@code R} and {@code F}
+     */
+    public static CommandRegistry standard() {
+        return STANDARD;
+    }
+
+    public static CommandRegistry of(final Command... commands) {
+        final Set<Command> registered = EnumSet.noneOf(Command.class);
+        registered.addAll(Arrays.asList(commands));
+        return new CommandRegistry(registered);
+    }
+
+    public CommandRegistry withCommand(final Command command) {
+        final Set<Command> registered = EnumSet.noneOf(Command.class);
+        registered.addAll(commands);
+        registered.add(command);
+        return new CommandRegistry(registered);
+    }
+
+    /**
+     * Case-insensitive.
+     *
+     * @return the registered command for the character, or {@code null} if there is none
+     */
+    public Command lookup(final int symbol) {
+        return symbol >= 0 && symbol < TABLE_SIZE ? commandsBySymbol[symbol] : null;
+    }
+
+    public Set<Command> getCommands() {
+        return commands;
+    }
+
+    /**
+     * @return the registered commands, e.g. {@code [L, R, F]}
+     */
+    public String describe() {
+        return commands.toString();
+    }
+}
@@ -0,0 +1,97 @@
+package com.red_badger.domain;
+
+import com.red_badger.enums.Command;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A list of commands compiled into segments. Every segment turns the robot by a number of quarter turns to the right
+ * and then moves it a number of steps in a straight line, so consecutive turns and consecutive moves are executed at
+ * once instead of command by command.
+ * <p>
+ * Each segment is packed into an {@code int}: bits 0-1 hold the quarter turns, bit 2 is set for backward moves and the
+ * remaining bits hold the number of steps. Every segment also keeps the number of turn commands merged into it, so that
+ * turns are counted command by command, even where they cancel each other out.
+ */
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CompiledProgram {
+
+    private static final int ROTATION_MASK = 0b11;
+    private static final int BACKWARD_FLAG = 0b100;
+    private static final int STEPS_SHIFT = 3;
+
+    private final int[] segments;
+    private final int[] turnCommands;
+
+    public static CompiledProgram compile(final List<Command> commands) {
+        final int[] segments = new int[commands.size()];
+        final int[] turnCommands = new int[commands.size()];
+        int count = 0;
+        int rotation = 0;
+        int turns = 0;
+        int multiplier = 1;
+        int steps = 0;
+
+        for (Command command : commands) {
+            if (command.isMovement()) {
+                if (steps > 0 && command.getDirectionMultiplier() != multiplier) {
+                    turnCommands[count] = turns;
+                    segments[count++] = pack(rotation, multiplier, steps);
+                    rotation = 0;
+                    turns = 0;
+                    steps = 0;
+                }
+                multiplier = command.getDirectionMultiplier();
+                steps++;
+            } else {
+                if (steps > 0) {
+                    turnCommands[count] = turns;
+                    segments[count++] = pack(rotation, multiplier, steps);
+                    rotation = 0;
+                    turns = 0;
+                    steps = 0;
+                }
+                rotation = (rotation + command.getQuarterTurns()) & ROTATION_MASK;
+                turns++;
+            }
+        }
+        if (steps > 0 || turns > 0) {
+            turnCommands[count] = turns;
+            segments[count++] = pack(rotation, multiplier, steps);
+        }
+
+        return new CompiledProgram(Arrays.copyOf(segments, count), Arrays.copyOf(turnCommands, count));
+    }
+
+    public int size() {
+        return segments.length;
+    }
+
+    public int rotation(final int segment) {
+        return segments[segment] & ROTATION_MASK;
+    }
+
+    /**
+     * @return the number of turn commands merged into the segment's rotation
+     */
+    public int turnCommands(final int segment) {
+        return turnCommands[segment];
+    }
+
+    public int directionMultiplier(final int segment) {
+        return (segments[segment] & BACKWARD_FLAG) == 0 ? 1 : -1;
+    }
+
+    public int steps(final int segment) {
+        return segments[segment] >>> STEPS_SHIFT;
+    }
+
+    private static int pack(final int rotation, final int multiplier, final int steps) {
+        return steps << STEPS_SHIFT | (multiplier < 0 ? BACKWARD_FLAG : 0) | rotation;
+    }
+}
@@ -0,0 +1,122 @@
+package com.red_badger.domain;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link DenseCellStore} that many threads can share: eight cells of a byte each per {@code long}, indexed by
+ * {@code x * (upperRightY + 1) + y}. A lookup is a single acquiring load, and a bit is set with a compare-and-set on its
+ * word, so neither ever blocks.
+ */
+final class ConcurrentDenseCellStore implements CellStore {
+
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int CELLS_PER_WORD_SHIFT = 3;
+    private static final int CELL_INDEX_MASK = (1 << CELLS_PER_WORD_SHIFT) - 1;
+
+    private final int height;
+    private final int cellCount;
+    private final long[] words;
+    private final AtomicInteger occupiedCells = new AtomicInteger();
+    private final AtomicLong version = new AtomicLong();
+
+    ConcurrentDenseCellStore(final int upperRightX, final int upperRightY) {
+        this.height = upperRightY + 1;
+        this.cellCount = (upperRightX + 1) * height;
+        this.words = new long[(cellCount + CELL_INDEX_MASK) >>> CELLS_PER_WORD_SHIFT];
+    }
+
+    private ConcurrentDenseCellStore(final ConcurrentDenseCellStore store) {
+        this.height = store.height;
+        this.cellCount = store.cellCount;
+        this.words = new long[store.words.length];
+        for (int word = 0; word < words.length; word++) {
+            words[word] = (long) WORDS.getAcquire(store.words, word);
+        }
+        this.occupiedCells.set(store.occupiedCells.get());
+        this.version.set(store.version.get());
+    }
+
+    @Override
+    public int get(final int xCord, final int yCord) {
+        return get(xCord * height + yCord);
+    }
+
+    @Override
+    public boolean add(final int xCord, final int yCord, final int bit) {
+        final int cellIndex = xCord * height + yCord;
+        final int word = cellIndex >>> CELLS_PER_WORD_SHIFT;
+        final long mask = (long) bit << shift(cellIndex);
+        long current = (long) WORDS.getAcquire(words, word);
+        while ((current & mask) == 0) {
+            final long witness = (long) WORDS.compareAndExchangeRelease(words, word, current, current | mask);
+            if (witness == current) {
+                if (bit == Grid.OCCUPIED_BIT) {
+                    occupiedCells.incrementAndGet();
+                }
+                version.incrementAndGet();
+                return true;
+            }
+            current = witness;
+        }
+        return false;
+    }
+
+    @Override
+    public int occupiedCells() {
+        return occupiedCells.get();
+    }
+
+    @Override
+    public long version() {
+        return version.get();
+    }
+
+    @Override
+    public CellStore copy() {
+        return new ConcurrentDenseCellStore(this);
+    }
+
+    @Override
+    public void forEachMarkedCell(final CellVisitor visitor) {
+        for (int cellIndex = 0; cellIndex < cellCount; cellIndex++) {
+            final int bits = get(cellIndex);
+            if (bits != 0) {
+                visitor.visit(cellIndex / height, cellIndex % height, bits);
+            }
+        }
+    }
+
+    private int get(final int cellIndex) {
+        final long word = (long) WORDS.getAcquire(words, cellIndex >>> CELLS_PER_WORD_SHIFT);
+        return (int) (word >>> shift(cellIndex)) & 0xFF;
+    }
+
+    private static int shift(final int cellIndex) {
+        return (cellIndex & CELL_INDEX_MASK) * Byte.SIZE;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (!(o instanceof ConcurrentDenseCellStore other) || height != other.height || cellCount != other.cellCount) {
+            return false;
+        }
+        for (int cellIndex = 0; cellIndex < cellCount; cellIndex++) {
+            if (get(cellIndex) != other.get(cellIndex)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int cellIndex = 0; cellIndex < cellCount; cellIndex++) {
+            hash = 31 * hash + get(cellIndex);
+        }
+        return hash;
+    }
+}
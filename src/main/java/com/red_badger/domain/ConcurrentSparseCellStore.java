@@ -0,0 +1,281 @@
+package com.red_badger.domain;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link SparseCellStore} that many threads can share. Slots are claimed and bits are set with compare-and-set, and a
+ * lookup is a bounded probe of acquiring loads, so neither ever blocks.
+ * <p>
+ * Growing the table is the only step that takes a lock. The new table is published first, then every slot of the old
+ * one is frozen: empty slots are closed and marked cells get a {@code MOVED} bit before they are copied over. Threads
+ * that meet a frozen slot carry on in the new table, and lookups add the frozen bits to what the new table holds, so a
+ * bit set during the copy is never lost.
+ * <p>
+ * {@link #copy()}, {@link #forEachMarkedCell(CellVisitor)} and equality see every mark only once no thread is adding
+ * any.
+ */
+final class ConcurrentSparseCellStore implements CellStore {
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    private static final VarHandle KEYS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(int[].class);
+
+    /**
+     * Keys of claimed slots carry this bit, so that the cell {@code (0, 0)} differs from an empty slot.
+     */
+    private static final long CLAIMED = Long.MIN_VALUE;
+    /**
+     * The key of an empty slot closed by a resize; no cell on a grid packs to it.
+     */
+    private static final long CLOSED = -1L;
+    /**
+     * Set on the value of a slot that has been copied to the next table.
+     */
+    private static final int MOVED = 1 << 30;
+
+    private static final int ADDED = 1;
+    private static final int PRESENT = 0;
+    private static final int RETRY = -1;
+    private static final int GROW = -2;
+
+    private static final class Table {
+
+        final long[] keys;
+        final int[] values;
+        final int shift;
+        final AtomicInteger size = new AtomicInteger();
+        volatile Table next;
+
+        Table(final int capacity) {
+            keys = new long[capacity];
+            values = new int[capacity];
+            shift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+        }
+
+        int slot(final long key) {
+            return (int) ((key * HASH_MULTIPLIER) >>> shift);
+        }
+    }
+
+    private volatile Table table = new Table(INITIAL_CAPACITY);
+    private final AtomicInteger occupiedCells = new AtomicInteger();
+    private final AtomicLong version = new AtomicLong();
+
+    ConcurrentSparseCellStore() {
+    }
+
+    @Override
+    public int get(final int xCord, final int yCord) {
+        return get(table, key(xCord, yCord));
+    }
+
+    @Override
+    public boolean add(final int xCord, final int yCord, final int bit) {
+        final long key = key(xCord, yCord);
+        Table current = table;
+        while (true) {
+            final int result = add(current, key, bit, false);
+            if (result == RETRY) {
+                current = current.next;
+            } else if (result == GROW) {
+                resize(current);
+                current = table;
+            } else if (result == ADDED) {
+                if (bit == Grid.OCCUPIED_BIT) {
+                    occupiedCells.incrementAndGet();
+                }
+                version.incrementAndGet();
+                return true;
+            } else {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public int occupiedCells() {
+        return occupiedCells.get();
+    }
+
+    @Override
+    public long version() {
+        return version.get();
+    }
+
+    @Override
+    public CellStore copy() {
+        final var copy = new ConcurrentSparseCellStore();
+        forEachMarkedCell((xCord, yCord, bits) -> {
+            for (int bit = 1; bit <= bits; bit <<= 1) {
+                if ((bits & bit) != 0) {
+                    copy.add(xCord, yCord, bit);
+                }
+            }
+        });
+        copy.version.set(version.get());
+        return copy;
+    }
+
+    @Override
+    public void forEachMarkedCell(final CellVisitor visitor) {
+        final Table latest = latest();
+        for (int slot = 0; slot < latest.keys.length; slot++) {
+            final long key = (long) KEYS.getAcquire(latest.keys, slot);
+            if (key != 0 && key != CLOSED) {
+                final int bits = get(latest, key);
+                if (bits != 0) {
+                    visitor.visit(xCord(key), yCord(key), bits);
+                }
+            }
+        }
+    }
+
+    int size() {
+        return latest().size.get();
+    }
+
+    private static int get(final Table table, final long key) {
+        final int mask = table.keys.length - 1;
+        int slot = table.slot(key);
+        for (int probe = 0; probe <= mask; probe++, slot = (slot + 1) & mask) {
+            final long slotKey = (long) KEYS.getAcquire(table.keys, slot);
+            if (slotKey == key) {
+                final int value = (int) VALUES.getAcquire(table.values, slot);
+                return (value & MOVED) == 0 ? value : (value & ~MOVED) | get(table.next, key);
+            }
+            if (slotKey == 0) {
+                return 0;
+            }
+            if (slotKey == CLOSED) {
+                return get(table.next, key);
+            }
+        }
+        final Table next = table.next;
+        return next == null ? 0 : get(next, key);
+    }
+
+    /**
+     * @param copying whether the resize is filling the table, before it is published
+     * @return {@link #ADDED}, {@link #PRESENT}, {@link #RETRY} if the cell has to be looked up in the next table, or
+     * {@link #GROW} once the table has to be replaced by a larger one
+     */
+    private int add(final Table table, final long key, final int bit, final boolean copying) {
+        final int mask = table.keys.length - 1;
+        int slot = table.slot(key);
+        for (int probe = 0; probe <= mask; probe++, slot = (slot + 1) & mask) {
+            long slotKey = (long) KEYS.getAcquire(table.keys, slot);
+            if (slotKey == 0) {
+                // only the resize adds cells to a table before it is published, so that it cannot fill up
+                if (!copying && table != this.table) {
+                    return GROW;
+                }
+                slotKey = (long) KEYS.compareAndExchange(table.keys, slot, 0L, key);
+                if (slotKey == 0) {
+                    slotKey = key;
+                    // keep the load factor at or below 1/2
+                    if (!copying && table.size.incrementAndGet() * 2 > table.keys.length) {
+                        final int result = setBit(table, slot, bit);
+                        resize(table);
+                        return result;
+                    }
+                    if (copying) {
+                        table.size.incrementAndGet();
+                    }
+                }
+            }
+            if (slotKey == key) {
+                return setBit(table, slot, bit);
+            }
+            if (slotKey == CLOSED) {
+                return RETRY;
+            }
+        }
+        return GROW;
+    }
+
+    private static int setBit(final Table table, final int slot, final int bit) {
+        int value = (int) VALUES.getAcquire(table.values, slot);
+        while (true) {
+            if ((value & bit) != 0) {
+                return PRESENT;
+            }
+            if ((value & MOVED) != 0) {
+                return RETRY;
+            }
+            final int witness = (int) VALUES.compareAndExchangeRelease(table.values, slot, value, value | bit);
+            if (witness == value) {
+                return ADDED;
+            }
+            value = witness;
+        }
+    }
+
+    /**
+     * Replaces the table with one twice its size, unless it is no longer the published table or no longer more than half
+     * full. Threads that wait here for a resize in progress then go on in the published table.
+     */
+    private synchronized void resize(final Table full) {
+        if (full != table || full.next != null || full.size.get() * 2 <= full.keys.length) {
+            return;
+        }
+        final Table next = new Table(full.keys.length * 2);
+        full.next = next;
+        for (int slot = 0; slot < full.keys.length; slot++) {
+            long key = (long) KEYS.getAcquire(full.keys, slot);
+            if (key == 0) {
+                key = (long) KEYS.compareAndExchange(full.keys, slot, 0L, CLOSED);
+                if (key == 0) {
+                    continue;
+                }
+            }
+            final int bits = (int) VALUES.getAndBitwiseOr(full.values, slot, MOVED);
+            for (int bit = 1; bit <= bits; bit <<= 1) {
+                if ((bits & bit) != 0) {
+                    add(next, key, bit, true);
+                }
+            }
+        }
+        table = next;
+    }
+
+    private Table latest() {
+        Table latest = table;
+        while (latest.next != null) {
+            latest = latest.next;
+        }
+        return latest;
+    }
+
+    private static long key(final int xCord, final int yCord) {
+        return CLAIMED | ((long) xCord << Integer.SIZE) | (yCord & 0xFFFFFFFFL);
+    }
+
+    private static int xCord(final long key) {
+        return (int) ((key & ~CLAIMED) >>> Integer.SIZE);
+    }
+
+    private static int yCord(final long key) {
+        return (int) key;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (!(o instanceof ConcurrentSparseCellStore other) || size() != other.size()) {
+            return false;
+        }
+        final boolean[] equal = {true};
+        forEachMarkedCell((xCord, yCord, bits) -> equal[0] &= other.get(xCord, yCord) == bits);
+        return equal[0];
+    }
+
+    @Override
+    public int hashCode() {
+        final int[] hash = {0};
+        forEachMarkedCell((xCord, yCord, bits) -> hash[0] += Long.hashCode(key(xCord, yCord)) ^ bits);
+        return hash[0];
+    }
+}
@@ -0,0 +1,81 @@
+package com.red_badger.domain;
+
+import java.util.Arrays;
+
+/**
+ * One byte per cell, indexed by {@code x * (upperRightY + 1) + y}. The fastest store, but its size grows with the area
+ * of the grid.
+ */
+final class DenseCellStore implements CellStore {
+
+    private final int height;
+    private final byte[] cells;
+    private int occupiedCells;
+    private long version;
+
+    DenseCellStore(final int upperRightX, final int upperRightY) {
+        this.height = upperRightY + 1;
+        this.cells = new byte[(upperRightX + 1) * height];
+    }
+
+    private DenseCellStore(final DenseCellStore store) {
+        this.height = store.height;
+        this.cells = store.cells.clone();
+        this.occupiedCells = store.occupiedCells;
+        this.version = store.version;
+    }
+
+    @Override
+    public int get(final int xCord, final int yCord) {
+        return cells[xCord * height + yCord];
+    }
+
+    @Override
+    public boolean add(final int xCord, final int yCord, final int bit) {
+        final int cellIndex = xCord * height + yCord;
+        if ((cells[cellIndex] & bit) != 0) {
+            return false;
+        }
+        cells[cellIndex] |= bit;
+        if (bit == Grid.OCCUPIED_BIT) {
+            occupiedCells++;
+        }
+        version++;
+        return true;
+    }
+
+    @Override
+    public int occupiedCells() {
+        return occupiedCells;
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public CellStore copy() {
+        return new DenseCellStore(this);
+    }
+
+    @Override
+    public void forEachMarkedCell(final CellVisitor visitor) {
+        for (int cellIndex = 0; cellIndex < cells.length; cellIndex++) {
+            if (cells[cellIndex] != 0) {
+                visitor.visit(cellIndex / height, cellIndex % height, cells[cellIndex]);
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return o instanceof DenseCellStore other && height == other.height
+                && Arrays.equals(cells, other.cells);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(cells);
+    }
+}
@@ -0,0 +1,64 @@
+package com.red_badger.domain;
+
+import com.red_badger.enums.Command;
+
+import java.util.Arrays;
+
+/**
+ * Executes the instructions of a batch of robots over primitive arrays, without a grid.
+ * <p>
+ * Scent for a direction of travel is only ever left on a cell with the edge of the grid right next to it in that
+ * direction, and a robot only ever reads the scent of the cell it stands on, for the direction it is about to move in.
+ * So until a robot is about to move off the grid, its path is pure arithmetic and does not depend on any other robot.
+ * Steppers stop every robot right before such a move, and {@link RobotFleet} finishes it on the scalar scent path, in
+ * input order.
+ */
+interface FleetStepper {
+
+    /**
+     * Quarter turns to the right for every {@link Command} ordinal, 0 for movements.
+     */
+    int[] ROTATIONS = Arrays.stream(Command.values())
+            .mapToInt(command -> command.isMovement() ? 0 : command.getQuarterTurns())
+            .toArray();
+    /**
+     * Direction multiplier for every {@link Command} ordinal, 0 for turns.
+     */
+    int[] MULTIPLIERS = Arrays.stream(Command.values())
+            .mapToInt(command -> command.isMovement() ? command.getDirectionMultiplier() : 0)
+            .toArray();
+
+    /**
+     * Steps every robot of the batch as far as it can go without reading scent.
+     *
+     * @param commands the fleet's commands, indexed by {@link Batch#commandStarts}
+     */
+    void step(Batch batch, byte[] commands, int upperRightX, int upperRightY);
+
+    /**
+     * Robots in structure-of-arrays form. Headings number the orientations clockwise from north, so turning is
+     * addition modulo 4.
+     */
+    final class Batch {
+
+        final int[] xCords;
+        final int[] yCords;
+        final int[] headings;
+        final int[] commandStarts;
+        /**
+         * The number of commands of every robot on input, the number it executed on output.
+         */
+        final int[] steps;
+        int size;
+        int moves;
+        int turns;
+
+        Batch(final int capacity) {
+            xCords = new int[capacity];
+            yCords = new int[capacity];
+            headings = new int[capacity];
+            commandStarts = new int[capacity];
+            steps = new int[capacity];
+        }
+    }
+}
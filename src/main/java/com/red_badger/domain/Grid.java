@@ -5,11 +5,6 @@ import com.red_badger.exception.InvalidGridException;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
-
 @Getter
 @ToString
 @EqualsAndHashCode
@@ -18,47 +13,170 @@ public class Grid {
 
     public static final int MAX_VALUE = 50;
     public static final int MIN_VALUE = 0;
+    /**
+     * Grids with up to this many cells keep a byte per cell; larger ones keep only the cells that are scented or
+     * occupied.
+     */
+    public static final long DENSE_CELL_LIMIT = 1L << 20;
 
-    private record GridPosition(int xCord, int yCord) {}
+    static final int OCCUPIED_BIT = 1 << Orientation.values().length;
 
     int upperRightX;
     int upperRightY;
 
-    Map<GridPosition, Set<Orientation>> scentedPositions;
+    /**
+     * A bit for every {@link Orientation} that led a robot off the grid from a cell, and one for a robot parked on it.
+     * Also counts parked robots and changes; only the stores of a shared grid pay for atomic counters.
+     */
+    @Getter(AccessLevel.NONE)
+    CellStore cells;
 
-    private Grid(int upperRightX, int upperRightY) {
+    private Grid(final int upperRightX, final int upperRightY, final CellStore cells) {
         this.upperRightX = upperRightX;
         this.upperRightY = upperRightY;
-        this.scentedPositions = new HashMap<>();
+        this.cells = cells;
+    }
+
+    private Grid(final Grid grid) {
+        this.upperRightX = grid.upperRightX;
+        this.upperRightY = grid.upperRightY;
+        this.cells = grid.cells.copy();
     }
 
     public static Grid createGrid(final int upperRightX, final int upperRightY) {
-        validateGrid(upperRightX, upperRightY);
-        return new Grid(upperRightX, upperRightY);
+        return createGrid(upperRightX, upperRightY, MAX_VALUE);
+    }
+
+    /**
+     * @param maxValue the largest coordinate allowed, see {@link MissionLimits#maxGridValue()}
+     */
+    public static Grid createGrid(final int upperRightX, final int upperRightY, final int maxValue) {
+        validateGrid(upperRightX, upperRightY, maxValue);
+        return new Grid(upperRightX, upperRightY, isDense(upperRightX, upperRightY)
+                ? new DenseCellStore(upperRightX, upperRightY)
+                : new SparseCellStore());
+    }
+
+    /**
+     * Creates a grid that missions on many threads can share, each seeing the scent and parked robots of the others as
+     * soon as they are added. Lookups never block or retry, and a scent or parked robot is added with a compare-and-set.
+     * Its copies are shared grids as well.
+     *
+     * @param maxValue the largest coordinate allowed, see {@link MissionLimits#maxGridValue()}
+     */
+    public static Grid createConcurrentGrid(final int upperRightX, final int upperRightY, final int maxValue) {
+        validateGrid(upperRightX, upperRightY, maxValue);
+        return new Grid(upperRightX, upperRightY, isDense(upperRightX, upperRightY)
+                ? new ConcurrentDenseCellStore(upperRightX, upperRightY)
+                : new ConcurrentSparseCellStore());
+    }
+
+    private static boolean isDense(final int upperRightX, final int upperRightY) {
+        return (upperRightX + 1L) * (upperRightY + 1L) <= DENSE_CELL_LIMIT;
     }
 
-    private static void validateGrid(final int xCord, final int yCord) {
-        if (xCord < MIN_VALUE || xCord > MAX_VALUE || yCord < MIN_VALUE || yCord > MAX_VALUE) {
-            throw new InvalidGridException(xCord, yCord);
+    private static void validateGrid(final int xCord, final int yCord, final int maxValue) {
+        if (xCord < MIN_VALUE || xCord > maxValue || yCord < MIN_VALUE || yCord > maxValue) {
+            throw new InvalidGridException(xCord, yCord, maxValue);
         }
     }
 
+    /**
+     * @return an independent grid with the same size and scent as this one
+     */
+    public Grid copy() {
+        return new Grid(this);
+    }
+
+    public int getOccupiedCells() {
+        return cells.occupiedCells();
+    }
+
+    /**
+     * Incremented whenever a new scent or parked robot is added, so results computed against this grid can be reused
+     * while it is unchanged.
+     */
+    public long getVersion() {
+        return cells.version();
+    }
+
     public boolean isValidPosition(final int xCord, final int yCord) {
         return xCord >= MIN_VALUE && xCord <= upperRightX && yCord >= MIN_VALUE && yCord <= upperRightY;
     }
 
+    /**
+     * @return how many steps in the given direction stay on the grid, starting from a position on the grid
+     */
+    public int stepsToEdge(final int xCord, final int yCord, final int xIncrement, final int yIncrement) {
+        if (xIncrement > 0) {
+            return upperRightX - xCord;
+        }
+        if (xIncrement < 0) {
+            return xCord - MIN_VALUE;
+        }
+        if (yIncrement > 0) {
+            return upperRightY - yCord;
+        }
+        return yCord - MIN_VALUE;
+    }
+
+    /**
+     * Counts the steps in the given direction that are free of parked robots, starting from a position on the grid.
+     * Expects every cell within {@code maxSteps} to be on the grid, see {@link #stepsToEdge(int, int, int, int)}.
+     *
+     * @return {@code maxSteps} if no robot is parked in the way, otherwise the number of steps before the first one
+     */
+    public int stepsToOccupiedCell(final int xCord, final int yCord, final int xIncrement, final int yIncrement, final int maxSteps) {
+        if (cells.occupiedCells() == 0) {
+            return maxSteps;
+        }
+        for (int step = 1; step <= maxSteps; step++) {
+            if ((cells.get(xCord + step * xIncrement, yCord + step * yIncrement) & OCCUPIED_BIT) != 0) {
+                return step - 1;
+            }
+        }
+        return maxSteps;
+    }
+
+    /**
+     * Expects a position on the grid, see {@link #isValidPosition(int, int)}.
+     */
     public boolean hasPositionBeenScented(final int xCord, final int yCord, final Orientation orientation) {
-        return Optional.ofNullable(scentedPositions.get(new GridPosition(xCord, yCord)))
-                .map(orientations -> orientations.contains(orientation))
-                .orElse(false);
+        return (cells.get(xCord, yCord) & scentBit(orientation)) != 0;
     }
 
+    /**
+     * Expects a position on the grid, see {@link #isValidPosition(int, int)}.
+     */
     public void scentPosition(final int xCord, final int yCord, final Orientation orientation) {
-        final var gridPosition = new GridPosition(xCord, yCord);
-        Optional.ofNullable(scentedPositions.get(gridPosition))
-                .ifPresentOrElse(
-                        orientations -> orientations.add(orientation),
-                        () -> scentedPositions.put(gridPosition, Set.of(orientation))
-                );
+        cells.add(xCord, yCord, scentBit(orientation));
+    }
+
+    /**
+     * Expects a position on the grid, see {@link #isValidPosition(int, int)}.
+     *
+     * @return {@code true} if a robot is parked on the position
+     */
+    public boolean isOccupied(final int xCord, final int yCord) {
+        return (cells.get(xCord, yCord) & OCCUPIED_BIT) != 0;
+    }
+
+    /**
+     * Parks a robot on the position, so that no other robot can move onto it. Expects a position on the grid, see
+     * {@link #isValidPosition(int, int)}.
+     */
+    public void occupyPosition(final int xCord, final int yCord) {
+        cells.add(xCord, yCord, OCCUPIED_BIT);
+    }
+
+    /**
+     * Visits every cell that is scented or occupied, with its {@link CellStore} bits.
+     */
+    void forEachMarkedCell(final CellStore.CellVisitor visitor) {
+        cells.forEachMarkedCell(visitor);
+    }
+
+    private static int scentBit(final Orientation orientation) {
+        return 1 << orientation.ordinal();
     }
 }
@@ -0,0 +1,197 @@
+package com.red_badger.domain;
+
+import com.red_badger.enums.Orientation;
+import com.red_badger.exception.InvalidInputException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Saves the scent and parked robots of a {@link Grid} to a compact binary file, and restores them, so a mission fed in
+ * several installments does not have to replay its history. Files are written and read through memory mapping.
+ * <p>
+ * Format, big-endian:
+ * <ul>
+ *     <li>header: magic {@code MRSG}, format version (short), encoding (byte), flags (byte), upper-right x and y (ints)</li>
+ *     <li>dense encoding: the scent of every cell as a nibble, two cells per byte, in the order of
+ *     {@code x * (upperRightY + 1) + y}; followed by a bit per cell for parked robots if the occupancy flag is set</li>
+ *     <li>sparse encoding, for grids with more than {@link Grid#DENSE_CELL_LIMIT} cells: the number of marked cells
+ *     (int), then x and y (ints) and the cell's bits (byte) for each</li>
+ * </ul>
+ * A robot only leaves scent on an edge cell, for the direction that leads off the grid, so a snapshot with a cell off
+ * the grid or any other scent is rejected with an {@link InvalidInputException}.
+ */
+public final class GridSnapshot {
+
+    public static final int MAGIC = 0x4D525347;
+    public static final short FORMAT_VERSION = 1;
+    public static final String INVALID_SNAPSHOT_ERROR = "Not a grid snapshot: %s";
+    public static final String UNSUPPORTED_VERSION_ERROR = "Unsupported grid snapshot version %d: %s";
+    public static final String BOUNDS_MISMATCH_ERROR = "Grid snapshot is for a %d x %d grid, not %d x %d: %s";
+    public static final String CELL_OUTSIDE_GRID_ERROR = "Grid snapshot has a cell outside of the grid, provided = '%d %d': %s";
+    public static final String SCENT_ERROR = "Grid snapshot has scent that does not lead off the grid, provided = '%d %d %s': %s";
+
+    private static final int HEADER_SIZE = 16;
+    private static final byte DENSE_ENCODING = 0;
+    private static final byte SPARSE_ENCODING = 1;
+    private static final byte OCCUPANCY_FLAG = 1;
+    private static final int SPARSE_ENTRY_SIZE = 2 * Integer.BYTES + 1;
+    private static final int SCENT_MASK = Grid.OCCUPIED_BIT - 1;
+    private static final Orientation[] ORIENTATIONS = Orientation.values();
+
+    private GridSnapshot() {
+    }
+
+    /**
+     * Replaces the file atomically, so an interrupted save leaves the previous snapshot intact.
+     */
+    public static void save(final Grid grid, final Path path) throws IOException {
+        final long cellCount = (grid.getUpperRightX() + 1L) * (grid.getUpperRightY() + 1L);
+        final boolean dense = cellCount <= Grid.DENSE_CELL_LIMIT;
+        final boolean occupied = grid.getOccupiedCells() > 0;
+        final int[] markedCells = new int[1];
+        grid.forEachMarkedCell((xCord, yCord, bits) -> markedCells[0]++);
+
+        final long size = HEADER_SIZE + (dense
+                ? (cellCount + 1) / 2 + (occupied ? (cellCount + 7) / 8 : 0)
+                : Integer.BYTES + (long) markedCells[0] * SPARSE_ENTRY_SIZE);
+
+        final Path absolutePath = path.toAbsolutePath();
+        final Path temporary = Files.createTempFile(absolutePath.getParent(), absolutePath.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.putInt(MAGIC)
+                        .putShort(FORMAT_VERSION)
+                        .put(dense ? DENSE_ENCODING : SPARSE_ENCODING)
+                        .put(occupied ? OCCUPANCY_FLAG : 0)
+                        .putInt(grid.getUpperRightX())
+                        .putInt(grid.getUpperRightY());
+                if (dense) {
+                    writeDense(grid, buffer, (int) cellCount, occupied);
+                } else {
+                    buffer.putInt(markedCells[0]);
+                    grid.forEachMarkedCell((xCord, yCord, bits) -> buffer.putInt(xCord).putInt(yCord).put((byte) bits));
+                }
+                buffer.force();
+            }
+            Files.move(temporary, absolutePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * @return a new grid with the bounds, scent and parked robots of the snapshot
+     */
+    public static Grid load(final Path path) throws IOException {
+        return read(path, null);
+    }
+
+    /**
+     * Adds the scent and parked robots of the snapshot to a grid with the same bounds.
+     */
+    public static void restore(final Path path, final Grid grid) throws IOException {
+        read(path, grid);
+    }
+
+    private static Grid read(final Path path, final Grid target) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException(INVALID_SNAPSHOT_ERROR.formatted(path));
+            }
+            final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException(INVALID_SNAPSHOT_ERROR.formatted(path));
+            }
+            final short version = buffer.getShort();
+            if (version != FORMAT_VERSION) {
+                throw new IOException(UNSUPPORTED_VERSION_ERROR.formatted(version, path));
+            }
+            final byte encoding = buffer.get();
+            final boolean occupied = (buffer.get() & OCCUPANCY_FLAG) != 0;
+            final int upperRightX = buffer.getInt();
+            final int upperRightY = buffer.getInt();
+
+            final Grid grid = target != null ? target : Grid.createGrid(upperRightX, upperRightY, MissionLimits.LARGEST_GRID_VALUE);
+            if (grid.getUpperRightX() != upperRightX || grid.getUpperRightY() != upperRightY) {
+                throw new IOException(BOUNDS_MISMATCH_ERROR.formatted(upperRightX, upperRightY,
+                        grid.getUpperRightX(), grid.getUpperRightY(), path));
+            }
+            try {
+                if (encoding == DENSE_ENCODING) {
+                    readDense(grid, buffer, occupied, path);
+                } else if (encoding == SPARSE_ENCODING) {
+                    final int markedCells = buffer.getInt();
+                    for (int i = 0; i < markedCells; i++) {
+                        restoreCell(grid, buffer.getInt(), buffer.getInt(), buffer.get(), path);
+                    }
+                } else {
+                    throw new IOException(INVALID_SNAPSHOT_ERROR.formatted(path));
+                }
+            } catch (final InvalidInputException e) {
+                throw e;
+            } catch (final RuntimeException e) {
+                throw new IOException(INVALID_SNAPSHOT_ERROR.formatted(path), e);
+            }
+            return grid;
+        }
+    }
+
+    private static void writeDense(final Grid grid, final ByteBuffer buffer, final int cellCount, final boolean occupied) {
+        final int height = grid.getUpperRightY() + 1;
+        final int scentStart = buffer.position();
+        final int occupancyStart = scentStart + (cellCount + 1) / 2;
+        grid.forEachMarkedCell((xCord, yCord, bits) -> {
+            final int cellIndex = xCord * height + yCord;
+            final int scent = bits & SCENT_MASK;
+            if (scent != 0) {
+                final int index = scentStart + cellIndex / 2;
+                buffer.put(index, (byte) (buffer.get(index) | scent << (cellIndex % 2 * 4)));
+            }
+            if (occupied && (bits & Grid.OCCUPIED_BIT) != 0) {
+                final int index = occupancyStart + cellIndex / 8;
+                buffer.put(index, (byte) (buffer.get(index) | 1 << (cellIndex % 8)));
+            }
+        });
+    }
+
+    private static void readDense(final Grid grid, final ByteBuffer buffer, final boolean occupied, final Path path) {
+        final int height = grid.getUpperRightY() + 1;
+        final int cellCount = (grid.getUpperRightX() + 1) * height;
+        final int scentStart = buffer.position();
+        final int occupancyStart = scentStart + (cellCount + 1) / 2;
+        for (int cellIndex = 0; cellIndex < cellCount; cellIndex++) {
+            int bits = buffer.get(scentStart + cellIndex / 2) >> (cellIndex % 2 * 4) & SCENT_MASK;
+            if (occupied && (buffer.get(occupancyStart + cellIndex / 8) & 1 << (cellIndex % 8)) != 0) {
+                bits |= Grid.OCCUPIED_BIT;
+            }
+            if (bits != 0) {
+                restoreCell(grid, cellIndex / height, cellIndex % height, bits, path);
+            }
+        }
+    }
+
+    private static void restoreCell(final Grid grid, final int xCord, final int yCord, final int bits, final Path path) {
+        if (!grid.isValidPosition(xCord, yCord)) {
+            throw new InvalidInputException(CELL_OUTSIDE_GRID_ERROR.formatted(xCord, yCord, path));
+        }
+        for (Orientation orientation : ORIENTATIONS) {
+            if ((bits & 1 << orientation.ordinal()) != 0) {
+                if (grid.isValidPosition(xCord + orientation.getXIncrement(), yCord + orientation.getYIncrement())) {
+                    throw new InvalidInputException(SCENT_ERROR.formatted(xCord, yCord, orientation, path));
+                }
+                grid.scentPosition(xCord, yCord, orientation);
+            }
+        }
+        if ((bits & Grid.OCCUPIED_BIT) != 0) {
+            grid.occupyPosition(xCord, yCord);
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.red_badger.domain;
 
 import com.red_badger.enums.Command;
+import com.red_badger.enums.CommandResult;
 import com.red_badger.enums.Orientation;
 import com.red_badger.exception.RobotLostException;
+import com.red_badger.metrics.EngineMetrics;
+import com.red_badger.metrics.MotionMetrics;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
@@ -14,37 +17,126 @@ import lombok.experimental.SuperBuilder;
 @EqualsAndHashCode(callSuper = true)
 public class MarsRobot extends AbstractRobot {
 
+    private static final EngineMetrics METRICS = EngineMetrics.get();
+
     public MarsRobot(final int xCord, final int yCord, final Orientation orientation) {
         super(xCord, yCord, orientation);
     }
 
+    @Override
+    public MarsRobot copy() {
+        return toBuilder().build();
+    }
+
     @Override
     public void turn(final Command command) {
-        switch (command) {
-            case L -> super.setOrientation(super.getOrientation().turnLeft());
-            case R -> super.setOrientation(super.getOrientation().turnRight());
-            default -> throw new UnsupportedOperationException("Unsupported turn command: " + command);
+        if (command.isMovement()) {
+            throw new UnsupportedOperationException("Unsupported turn command: " + command);
         }
+        super.setOrientation(super.getOrientation().rotate(command.getQuarterTurns()));
+        METRICS.turned(1);
     }
 
     @Override
     public void move(final Grid grid, final Command command) throws RobotLostException {
+        if (tryMove(grid, command) == CommandResult.LOST) {
+            throw new RobotLostException();
+        }
+    }
+
+    @Override
+    public CommandResult tryMove(final Grid grid, final Command command) {
         final int oldXCord = super.getXCord();
         final int oldYCord = super.getYCord();
+        final Orientation direction = directionOfTravel(super.getOrientation(), command.getDirectionMultiplier());
 
-        if (grid.hasPositionBeenScented(oldXCord, oldYCord, super.getOrientation())) {
-            return;
+        if (grid.hasPositionBeenScented(oldXCord, oldYCord, direction)) {
+            METRICS.scentBlocked(1);
+            return CommandResult.BLOCKED;
         }
 
-        final int newXCord = oldXCord + (command.getDirectionMultiplier() * super.getOrientation().getXIncrement());
-        final int newYCord = oldYCord + (command.getDirectionMultiplier() * super.getOrientation().getYIncrement());
+        final int newXCord = oldXCord + direction.getXIncrement();
+        final int newYCord = oldYCord + direction.getYIncrement();
 
         if (grid.isValidPosition(newXCord, newYCord)) {
+            if (grid.isOccupied(newXCord, newYCord)) {
+                return CommandResult.BLOCKED;
+            }
             super.setXCord(newXCord);
             super.setYCord(newYCord);
-        } else {
-            grid.scentPosition(oldXCord, oldYCord, super.getOrientation());
-            throw new RobotLostException();
+            METRICS.moved(1);
+            return CommandResult.EXECUTED;
+        }
+        grid.scentPosition(oldXCord, oldYCord, direction);
+        return CommandResult.LOST;
+    }
+
+    @Override
+    public CommandResult executeProgram(final Grid grid, final CompiledProgram program, final MotionMetrics metrics) {
+        for (int segment = 0; segment < program.size(); segment++) {
+            if (program.turnCommands(segment) != 0) {
+                super.setOrientation(super.getOrientation().rotate(program.rotation(segment)));
+                metrics.turned(program.turnCommands(segment));
+            }
+            if (moveStraight(grid, program.directionMultiplier(segment), program.steps(segment), metrics) == CommandResult.LOST) {
+                return CommandResult.LOST;
+            }
+        }
+        return CommandResult.EXECUTED;
+    }
+
+    /**
+     * Scent is keyed on the direction of travel rather than the orientation, so that a robot lost moving backward only
+     * saves robots that move the same way off the same cell.
+     *
+     * @return the orientation, turned round for backward moves
+     */
+    static Orientation directionOfTravel(final Orientation orientation, final int directionMultiplier) {
+        return directionMultiplier < 0 ? orientation.rotate(2) : orientation;
+    }
+
+    /**
+     * Moves up to {@code steps} steps at once. Scent for a direction of travel is only ever left on the last cell of
+     * the grid in that direction, so along a straight line only the start and the edge need to be checked.
+     * A parked robot in the way refuses the move, and every remaining step of the line with it.
+     */
+    private CommandResult moveStraight(final Grid grid, final int directionMultiplier, final int steps, final MotionMetrics metrics) {
+        final Orientation direction = directionOfTravel(super.getOrientation(), directionMultiplier);
+        final int xIncrement = direction.getXIncrement();
+        final int yIncrement = direction.getYIncrement();
+        int xCord = super.getXCord();
+        int yCord = super.getYCord();
+        int remaining = steps;
+        CommandResult result = CommandResult.EXECUTED;
+
+        while (remaining > 0) {
+            if (grid.hasPositionBeenScented(xCord, yCord, direction)) {
+                metrics.scentBlocked(remaining);
+                result = CommandResult.BLOCKED;
+                break;
+            }
+            final int freeSteps = grid.stepsToEdge(xCord, yCord, xIncrement, yIncrement);
+            if (freeSteps == 0) {
+                grid.scentPosition(xCord, yCord, direction);
+                result = CommandResult.LOST;
+                break;
+            }
+            final int stepsWanted = Math.min(freeSteps, remaining);
+            final int stepsTaken = grid.stepsToOccupiedCell(xCord, yCord, xIncrement, yIncrement, stepsWanted);
+            xCord += stepsTaken * xIncrement;
+            yCord += stepsTaken * yIncrement;
+            remaining -= stepsTaken;
+            if (stepsTaken < stepsWanted) {
+                result = CommandResult.BLOCKED;
+                break;
+            }
+        }
+
+        if (remaining < steps) {
+            metrics.moved(steps - remaining);
         }
+        super.setXCord(xCord);
+        super.setYCord(yCord);
+        return result;
     }
 }
@@ -0,0 +1,53 @@
+package com.red_badger.domain;
+
+/**
+ * Size limits enforced on a mission. The defaults follow the specification; larger surveys can raise them through
+ * the {@value #MAX_GRID_VALUE_PROPERTY} and {@value #MAX_INSTRUCTION_SIZE_PROPERTY} system properties.
+ *
+ * @param maxGridValue       the largest coordinate a grid or robot may have
+ * @param maxInstructionSize the largest number of instructions a robot may receive
+ */
+public record MissionLimits(int maxGridValue, int maxInstructionSize) {
+
+    public static final String MAX_GRID_VALUE_PROPERTY = "martian.grid.max-value";
+    public static final String MAX_INSTRUCTION_SIZE_PROPERTY = "martian.instructions.max-size";
+    public static final String INVALID_PROPERTY_ERROR = "Invalid value for %s: '%s'";
+    public static final int DEFAULT_MAX_INSTRUCTION_SIZE = 100;
+    /**
+     * Keeps every coordinate reachable from the grid, including one step off it, within {@code int} range.
+     */
+    public static final int LARGEST_GRID_VALUE = 1_000_000_000;
+    public static final MissionLimits DEFAULT = new MissionLimits(Grid.MAX_VALUE, DEFAULT_MAX_INSTRUCTION_SIZE);
+
+    public MissionLimits {
+        if (maxGridValue < Grid.MIN_VALUE || maxGridValue > LARGEST_GRID_VALUE) {
+            throw new IllegalArgumentException("Grid limit must be within ranges %d-%d, provided = %d"
+                    .formatted(Grid.MIN_VALUE, LARGEST_GRID_VALUE, maxGridValue));
+        }
+        if (maxInstructionSize < 1) {
+            throw new IllegalArgumentException("Instruction limit must be positive, provided = " + maxInstructionSize);
+        }
+    }
+
+    /**
+     * @return the limits set through system properties, falling back to the defaults for any that are not set
+     */
+    public static MissionLimits fromSystemProperties() {
+        return new MissionLimits(
+                intProperty(MAX_GRID_VALUE_PROPERTY, Grid.MAX_VALUE),
+                intProperty(MAX_INSTRUCTION_SIZE_PROPERTY, DEFAULT_MAX_INSTRUCTION_SIZE)
+        );
+    }
+
+    private static int intProperty(final String name, final int defaultValue) {
+        final String value = System.getProperty(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(INVALID_PROPERTY_ERROR.formatted(name, value), e);
+        }
+    }
+}
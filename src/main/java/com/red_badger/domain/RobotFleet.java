@@ -0,0 +1,217 @@
+package com.red_badger.domain;
+
+import com.red_badger.enums.Command;
+import com.red_badger.enums.CommandResult;
+import com.red_badger.enums.Orientation;
+import com.red_badger.metrics.EngineMetrics;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Holds many robots and their instructions in parallel primitive arrays instead of one object per robot, taking
+ * a few bytes per robot plus a byte per command.
+ * <p>
+ * Robots are simulated through a single reusable {@link MarsRobot}, so simulating the fleet allocates nothing.
+ * {@link #simulateBatch(int, int, Grid)} steps many robots at once, with the Vector API if the
+ * {@value #VECTOR_PROPERTY} system property is {@code true} and the JVM runs with
+ * {@code --add-modules jdk.incubator.vector}. Measured on JDK 17 the vector stepper is no faster than the scalar one,
+ * as robots leave their lanes at different steps, so it is not the default.
+ * Not thread-safe.
+ */
+public class RobotFleet {
+
+    public static final int BATCH_SIZE = 1_024;
+    public static final String VECTOR_PROPERTY = "martian.fleet.vector";
+    public static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private static final int INITIAL_CAPACITY = 1_024;
+    private static final byte NOT_SIMULATED = -1;
+    private static final Command[] COMMANDS = Command.values();
+    private static final Orientation[] ORIENTATIONS = Orientation.values();
+    private static final CommandResult[] RESULTS = CommandResult.values();
+    /**
+     * Orientation ordinals by clockwise heading, and back.
+     */
+    private static final Orientation[] ORIENTATIONS_BY_HEADING = {Orientation.N, Orientation.E, Orientation.S, Orientation.W};
+    private static final int[] HEADINGS = new int[ORIENTATIONS.length];
+
+    static {
+        for (int heading = 0; heading < ORIENTATIONS_BY_HEADING.length; heading++) {
+            HEADINGS[ORIENTATIONS_BY_HEADING[heading].ordinal()] = heading;
+        }
+    }
+
+    private int size;
+    private int[] xCords;
+    private int[] yCords;
+    private byte[] orientations;
+    private byte[] statuses;
+
+    private int commandCount;
+    private byte[] commands;
+    /**
+     * Commands of robot {@code i} are {@code commands[commandOffsets[i]]} to {@code commands[commandOffsets[i + 1]]}.
+     */
+    private int[] commandOffsets;
+
+    private final MarsRobot cursor = new MarsRobot(0, 0, Orientation.N);
+    private final FleetStepper stepper;
+    private FleetStepper.Batch batch;
+
+    public RobotFleet() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public RobotFleet(final int capacity) {
+        this(capacity, Boolean.getBoolean(VECTOR_PROPERTY) && ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()
+                ? new VectorFleetStepper()
+                : new ScalarFleetStepper());
+    }
+
+    RobotFleet(final int capacity, final FleetStepper stepper) {
+        this.stepper = stepper;
+        final int robotCapacity = Math.max(1, capacity);
+        this.xCords = new int[robotCapacity];
+        this.yCords = new int[robotCapacity];
+        this.orientations = new byte[robotCapacity];
+        this.statuses = new byte[robotCapacity];
+        this.commandOffsets = new int[robotCapacity + 1];
+        this.commands = new byte[robotCapacity * 8];
+    }
+
+    public void add(final int xCord, final int yCord, final Orientation orientation, final List<Command> robotCommands) {
+        ensureRobotCapacity(size + 1);
+        ensureCommandCapacity(commandCount + robotCommands.size());
+
+        xCords[size] = xCord;
+        yCords[size] = yCord;
+        orientations[size] = (byte) orientation.ordinal();
+        statuses[size] = NOT_SIMULATED;
+        for (Command command : robotCommands) {
+            commands[commandCount++] = (byte) command.ordinal();
+        }
+        size++;
+        commandOffsets[size] = commandCount;
+    }
+
+    public void add(final AbstractRobot robot, final List<Command> robotCommands) {
+        add(robot.getXCord(), robot.getYCord(), robot.getOrientation(), robotCommands);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getXCord(final int robot) {
+        return xCords[robot];
+    }
+
+    public int getYCord(final int robot) {
+        return yCords[robot];
+    }
+
+    public Orientation getOrientation(final int robot) {
+        return ORIENTATIONS[orientations[robot]];
+    }
+
+    /**
+     * @return the outcome of the robot's instructions, or {@code null} if it has not been simulated yet
+     */
+    public CommandResult getStatus(final int robot) {
+        return statuses[robot] == NOT_SIMULATED ? null : RESULTS[statuses[robot]];
+    }
+
+    public int getCommandCount(final int robot) {
+        return commandOffsets[robot + 1] - commandOffsets[robot];
+    }
+
+    /**
+     * Executes the robot's instructions on the grid and stores its final position and status in the fleet.
+     */
+    public CommandResult simulate(final int robot, final Grid grid) {
+        return simulate(robot, xCords[robot], yCords[robot], ORIENTATIONS[orientations[robot]], commandOffsets[robot], grid);
+    }
+
+    /**
+     * Simulates the robots from {@code from} (inclusive) to {@code to} (exclusive) with the same outcome as
+     * {@link #simulate(int, Grid)} on each of them in order.
+     * <p>
+     * Robots are stepped a batch at a time over primitive arrays until their first move off the grid, see
+     * {@link FleetStepper}; only the rest of their instructions go through the grid, in input order. On a grid
+     * with parked robots every robot is simulated on its own, as any move may be blocked.
+     */
+    public void simulateBatch(final int from, final int to, final Grid grid) {
+        if (grid.getOccupiedCells() > 0) {
+            for (int robot = from; robot < to; robot++) {
+                simulate(robot, grid);
+            }
+            return;
+        }
+        if (batch == null) {
+            batch = new FleetStepper.Batch(BATCH_SIZE);
+        }
+        for (int first = from; first < to; first += BATCH_SIZE) {
+            batch.size = Math.min(BATCH_SIZE, to - first);
+            for (int i = 0; i < batch.size; i++) {
+                final int robot = first + i;
+                batch.xCords[i] = xCords[robot];
+                batch.yCords[i] = yCords[robot];
+                batch.headings[i] = HEADINGS[orientations[robot]];
+                batch.commandStarts[i] = commandOffsets[robot];
+                batch.steps[i] = getCommandCount(robot);
+            }
+
+            stepper.step(batch, commands, grid.getUpperRightX(), grid.getUpperRightY());
+            EngineMetrics.get().moved(batch.moves);
+            EngineMetrics.get().turned(batch.turns);
+
+            for (int i = 0; i < batch.size; i++) {
+                simulate(first + i, batch.xCords[i], batch.yCords[i], ORIENTATIONS_BY_HEADING[batch.headings[i]],
+                        batch.commandStarts[i] + batch.steps[i], grid);
+            }
+        }
+    }
+
+    /**
+     * Executes the robot's instructions from {@code firstCommand} on, starting from the given pose.
+     */
+    private CommandResult simulate(final int robot, final int xCord, final int yCord, final Orientation orientation,
+                                   final int firstCommand, final Grid grid) {
+        cursor.setXCord(xCord);
+        cursor.setYCord(yCord);
+        cursor.setOrientation(orientation);
+
+        CommandResult result = CommandResult.EXECUTED;
+        final int end = commandOffsets[robot + 1];
+        for (int i = firstCommand; i < end; i++) {
+            if (cursor.executeCommand(grid, COMMANDS[commands[i]]) == CommandResult.LOST) {
+                result = CommandResult.LOST;
+                break;
+            }
+        }
+
+        xCords[robot] = cursor.getXCord();
+        yCords[robot] = cursor.getYCord();
+        orientations[robot] = (byte) cursor.getOrientation().ordinal();
+        statuses[robot] = (byte) result.ordinal();
+        return result;
+    }
+
+    private void ensureRobotCapacity(final int capacity) {
+        if (capacity > xCords.length) {
+            final int newCapacity = Math.max(capacity, xCords.length * 2);
+            xCords = Arrays.copyOf(xCords, newCapacity);
+            yCords = Arrays.copyOf(yCords, newCapacity);
+            orientations = Arrays.copyOf(orientations, newCapacity);
+            statuses = Arrays.copyOf(statuses, newCapacity);
+            commandOffsets = Arrays.copyOf(commandOffsets, newCapacity + 1);
+        }
+    }
+
+    private void ensureCommandCapacity(final int capacity) {
+        if (capacity > commands.length) {
+            commands = Arrays.copyOf(commands, Math.max(capacity, commands.length * 2));
+        }
+    }
+}
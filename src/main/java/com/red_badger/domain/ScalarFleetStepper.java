@@ -0,0 +1,51 @@
+package com.red_badger.domain;
+
+/**
+ * Steps one robot at a time, each to its first move off the grid.
+ */
+final class ScalarFleetStepper implements FleetStepper {
+
+    private static final int[] X_INCREMENTS = {0, 1, 0, -1};
+    private static final int[] Y_INCREMENTS = {1, 0, -1, 0};
+
+    @Override
+    public void step(final Batch batch, final byte[] commands, final int upperRightX, final int upperRightY) {
+        int moves = 0;
+        int turns = 0;
+        for (int robot = 0; robot < batch.size; robot++) {
+            int xCord = batch.xCords[robot];
+            int yCord = batch.yCords[robot];
+            int heading = batch.headings[robot];
+            final int start = batch.commandStarts[robot];
+            final int end = start + batch.steps[robot];
+            int command = start;
+            for (; command < end; command++) {
+                final int rotation = ROTATIONS[commands[command]];
+                if (rotation != 0) {
+                    heading = (heading + rotation) & 3;
+                    turns++;
+                    continue;
+                }
+                final int multiplier = MULTIPLIERS[commands[command]];
+                final int xTarget = xCord + multiplier * X_INCREMENTS[heading];
+                final int yTarget = yCord + multiplier * Y_INCREMENTS[heading];
+                if (isOffGrid(xTarget, yTarget, upperRightX, upperRightY)) {
+                    break;
+                }
+                xCord = xTarget;
+                yCord = yTarget;
+                moves++;
+            }
+            batch.xCords[robot] = xCord;
+            batch.yCords[robot] = yCord;
+            batch.headings[robot] = heading;
+            batch.steps[robot] = command - start;
+        }
+        batch.moves = moves;
+        batch.turns = turns;
+    }
+
+    private static boolean isOffGrid(final int xCord, final int yCord, final int upperRightX, final int upperRightY) {
+        return xCord < Grid.MIN_VALUE || yCord < Grid.MIN_VALUE || xCord > upperRightX || yCord > upperRightY;
+    }
+}
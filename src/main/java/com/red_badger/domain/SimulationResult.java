@@ -0,0 +1,26 @@
+package com.red_badger.domain;
+
+import com.red_badger.enums.CommandResult;
+import com.red_badger.enums.Orientation;
+
+/**
+ * Final position and orientation of a robot after its instructions, and whether it was lost.
+ */
+public record SimulationResult(int xCord, int yCord, Orientation orientation, CommandResult result) {
+
+    public static SimulationResult of(final AbstractRobot robot, final CommandResult result) {
+        return new SimulationResult(robot.getXCord(), robot.getYCord(), robot.getOrientation(), result);
+    }
+
+    public boolean isLost() {
+        return result == CommandResult.LOST;
+    }
+
+    /**
+     * @return the result as printed for the mission, e.g. {@code 3 3 N LOST}
+     */
+    public String format() {
+        final String position = xCord + " " + yCord + " " + orientation.getOrientation();
+        return isLost() ? position + " LOST" : position;
+    }
+}
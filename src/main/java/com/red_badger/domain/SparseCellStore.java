@@ -0,0 +1,159 @@
+package com.red_badger.domain;
+
+/**
+ * An open-addressing hash table from packed {@code (x, y)} keys to cell bits, for grids too large to hold a
+ * byte per cell. Its size grows with the number of marked cells, and neither lookups nor updates of an existing
+ * cell allocate.
+ */
+final class SparseCellStore implements CellStore {
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Slots whose value is 0 are empty: a stored cell always has at least one orientation bit.
+     */
+    private long[] keys;
+    private byte[] values;
+    private int shift;
+    private int size;
+    private int occupiedCells;
+    private long version;
+
+    SparseCellStore() {
+        keys = new long[INITIAL_CAPACITY];
+        values = new byte[INITIAL_CAPACITY];
+        shift = Long.SIZE - Integer.numberOfTrailingZeros(INITIAL_CAPACITY);
+    }
+
+    private SparseCellStore(final SparseCellStore store) {
+        keys = store.keys.clone();
+        values = store.values.clone();
+        shift = store.shift;
+        size = store.size;
+        occupiedCells = store.occupiedCells;
+        version = store.version;
+    }
+
+    @Override
+    public int get(final int xCord, final int yCord) {
+        final long key = key(xCord, yCord);
+        final int mask = keys.length - 1;
+        for (int slot = slot(key); values[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean add(final int xCord, final int yCord, final int bit) {
+        final long key = key(xCord, yCord);
+        final int mask = keys.length - 1;
+        int slot = slot(key);
+        for (; values[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                if ((values[slot] & bit) != 0) {
+                    return false;
+                }
+                values[slot] |= bit;
+                return added(bit);
+            }
+        }
+        keys[slot] = key;
+        values[slot] = (byte) bit;
+        // keep the load factor at or below 1/2
+        if (++size * 2 > keys.length) {
+            resize();
+        }
+        return added(bit);
+    }
+
+    private boolean added(final int bit) {
+        if (bit == Grid.OCCUPIED_BIT) {
+            occupiedCells++;
+        }
+        version++;
+        return true;
+    }
+
+    @Override
+    public int occupiedCells() {
+        return occupiedCells;
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public CellStore copy() {
+        return new SparseCellStore(this);
+    }
+
+    @Override
+    public void forEachMarkedCell(final CellVisitor visitor) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (values[slot] != 0) {
+                visitor.visit((int) (keys[slot] >>> Integer.SIZE), (int) keys[slot], values[slot]);
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void resize() {
+        final long[] oldKeys = keys;
+        final byte[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new byte[oldValues.length * 2];
+        shift--;
+        final int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != 0) {
+                int slot = slot(oldKeys[i]);
+                while (values[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private int slot(final long key) {
+        return (int) ((key * HASH_MULTIPLIER) >>> shift);
+    }
+
+    private static long key(final int xCord, final int yCord) {
+        return ((long) xCord << Integer.SIZE) | (yCord & 0xFFFFFFFFL);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (!(o instanceof SparseCellStore other) || size != other.size) {
+            return false;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != 0 && other.get((int) (keys[i] >>> Integer.SIZE), (int) keys[i]) != values[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != 0) {
+                hash += Long.hashCode(keys[i]) ^ values[i];
+            }
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,117 @@
+package com.red_badger.domain;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+/**
+ * Steps as many robots at once as an {@link IntVector} has lanes, one command per lane and iteration. A robot that
+ * reaches a move off the grid is masked out of its lane for the rest of the iteration, the others carry on.
+ * <p>
+ * Only loaded when enabled through {@link RobotFleet#VECTOR_PROPERTY} and the JVM runs with
+ * {@code --add-modules jdk.incubator.vector}.
+ */
+final class VectorFleetStepper implements FleetStepper {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    /**
+     * The commands of a group of robots transposed, so every iteration loads one command per lane contiguously. Lanes
+     * of robots with fewer commands are padded with zeros, which neither turn nor move.
+     */
+    private int[] rotations = new int[0];
+    private int[] multipliers = new int[0];
+
+    @Override
+    public void step(final Batch batch, final byte[] commands, final int upperRightX, final int upperRightY) {
+        batch.moves = 0;
+        batch.turns = 0;
+        for (int first = 0; first < batch.size; first += LANES) {
+            stepLanes(batch, commands, first, upperRightX, upperRightY);
+        }
+    }
+
+    private void stepLanes(final Batch batch, final byte[] commands, final int first, final int upperRightX, final int upperRightY) {
+        final int iterations = transpose(batch, commands, first);
+        final VectorMask<Integer> loaded = SPECIES.indexInRange(first, batch.size);
+        final IntVector one = IntVector.broadcast(SPECIES, 1);
+
+        IntVector xCords = IntVector.fromArray(SPECIES, batch.xCords, first, loaded);
+        IntVector yCords = IntVector.fromArray(SPECIES, batch.yCords, first, loaded);
+        IntVector headings = IntVector.fromArray(SPECIES, batch.headings, first, loaded);
+        IntVector steps = IntVector.fromArray(SPECIES, batch.steps, first, loaded);
+        VectorMask<Integer> active = loaded;
+        int moves = 0;
+        int turns = 0;
+
+        for (int iteration = 0; iteration < iterations && active.anyTrue(); iteration++) {
+            final IntVector rotation = IntVector.fromArray(SPECIES, rotations, iteration * LANES);
+            final IntVector multiplier = IntVector.fromArray(SPECIES, multipliers, iteration * LANES);
+
+            turns += rotation.compare(VectorOperators.NE, 0).and(active).trueCount();
+            headings = headings.add(rotation, active).and(3);
+
+            // N (0) -> (0, 1), E (1) -> (1, 0), S (2) -> (0, -1), W (3) -> (-1, 0)
+            final IntVector sign = one.sub(headings.and(2));
+            final IntVector xIncrement = headings.and(1).mul(sign);
+            final IntVector yIncrement = one.sub(headings.and(1)).mul(sign);
+            final IntVector xTarget = xCords.add(xIncrement.mul(multiplier));
+            final IntVector yTarget = yCords.add(yIncrement.mul(multiplier));
+
+            final VectorMask<Integer> moving = multiplier.compare(VectorOperators.NE, 0).and(active);
+            final VectorMask<Integer> leaving = offGrid(xTarget, yTarget, upperRightX, upperRightY).and(moving);
+            steps = steps.blend(iteration, leaving);
+            active = active.andNot(leaving);
+
+            final VectorMask<Integer> moved = moving.andNot(leaving);
+            xCords = xCords.blend(xTarget, moved);
+            yCords = yCords.blend(yTarget, moved);
+            moves += moved.trueCount();
+        }
+
+        xCords.intoArray(batch.xCords, first, loaded);
+        yCords.intoArray(batch.yCords, first, loaded);
+        headings.intoArray(batch.headings, first, loaded);
+        steps.intoArray(batch.steps, first, loaded);
+        batch.moves += moves;
+        batch.turns += turns;
+    }
+
+    /**
+     * @return the number of commands of the longest robot in the group
+     */
+    private int transpose(final Batch batch, final byte[] commands, final int first) {
+        final int robots = Math.min(LANES, batch.size - first);
+        int iterations = 0;
+        for (int lane = 0; lane < robots; lane++) {
+            iterations = Math.max(iterations, batch.steps[first + lane]);
+        }
+        if (rotations.length < iterations * LANES) {
+            rotations = new int[iterations * LANES];
+            multipliers = new int[iterations * LANES];
+        } else {
+            Arrays.fill(rotations, 0, iterations * LANES, 0);
+            Arrays.fill(multipliers, 0, iterations * LANES, 0);
+        }
+        for (int lane = 0; lane < robots; lane++) {
+            final int start = batch.commandStarts[first + lane];
+            for (int command = 0; command < batch.steps[first + lane]; command++) {
+                final int ordinal = commands[start + command];
+                rotations[command * LANES + lane] = ROTATIONS[ordinal];
+                multipliers[command * LANES + lane] = MULTIPLIERS[ordinal];
+            }
+        }
+        return iterations;
+    }
+
+    private static VectorMask<Integer> offGrid(final IntVector xCords, final IntVector yCords, final int upperRightX, final int upperRightY) {
+        return xCords.compare(VectorOperators.LT, Grid.MIN_VALUE)
+                .or(yCords.compare(VectorOperators.LT, Grid.MIN_VALUE))
+                .or(xCords.compare(VectorOperators.GT, upperRightX))
+                .or(yCords.compare(VectorOperators.GT, upperRightY));
+    }
+}
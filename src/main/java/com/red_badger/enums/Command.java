@@ -4,36 +4,70 @@ import com.red_badger.exception.UnknownCommandException;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Getter
 @RequiredArgsConstructor
 public enum Command {
-    L("L", false, 1),
-    R("R", false, 1),
-    F("F", true, 1);
+    L("L", false, 1, 3),
+    R("R", false, 1, 1),
+    F("F", true, 1, 0),
+    B("B", true, -1, 0);
+
+    private static final int TABLE_SIZE = 128;
+    /**
+     * The commands allowed by the mission specification. Any other command has to be registered with a mission's
+     * command registry.
+     */
+    private static final Set<Command> STANDARD_COMMANDS = Collections.unmodifiableSet(EnumSet.of(L, R, F));
+    private static final Command[] STANDARD_COMMANDS_BY_SYMBOL = new Command[TABLE_SIZE];
+
+    static {
+        for (Command command : STANDARD_COMMANDS) {
+            final char symbol = command.command.charAt(0);
+            STANDARD_COMMANDS_BY_SYMBOL[Character.toUpperCase(symbol)] = command;
+            STANDARD_COMMANDS_BY_SYMBOL[Character.toLowerCase(symbol)] = command;
+        }
+    }
 
     private final String command;
     private final boolean isMovement;
     private final int directionMultiplier;
+    /**
+     * Quarter turns to the right made by a turn command.
+     */
+    private final int quarterTurns;
 
+    /**
+     * Case-insensitive; only accepts the {@link #getStandardCommands() standard commands}.
+     */
     public static Command fromString(final String command) {
-        return Stream.of(Command.values())
-                .filter(c -> c.command.equalsIgnoreCase(command))
-                .findFirst()
-                .orElseThrow(() -> new UnknownCommandException(command));
+        final int symbol = command.length() == 1 ? command.charAt(0) : -1;
+        final Command found = symbol >= 0 && symbol < TABLE_SIZE ? STANDARD_COMMANDS_BY_SYMBOL[symbol] : null;
+        if (found == null) {
+            throw new UnknownCommandException(command, STANDARD_COMMANDS);
+        }
+        return found;
+    }
+
+    /**
+     * @return the commands allowed by the mission specification: {@code L}, {@code R} and {@code F}
+     */
+    public static Set<Command> getStandardCommands() {
+        return STANDARD_COMMANDS;
     }
 
     public static Set<Command> getMovementCommands() {
-        return Stream.of(Command.values())
+        return STANDARD_COMMANDS.stream()
                 .filter(Command::isMovement)
                 .collect(Collectors.toSet());
     }
 
     public static Set<Command> getStaticCommands() {
-        return Stream.of(Command.values())
+        return STANDARD_COMMANDS.stream()
                 .filter(c -> !c.isMovement)
                 .collect(Collectors.toSet());
     }
@@ -0,0 +1,7 @@
+package com.red_badger.enums;
+
+public enum CommandResult {
+    EXECUTED,
+    BLOCKED,
+    LOST;
+}
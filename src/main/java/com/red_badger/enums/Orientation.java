@@ -4,8 +4,6 @@ import com.red_badger.exception.UnknownOrientationException;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
-import java.util.stream.Stream;
-
 @Getter
 @AllArgsConstructor
 public enum Orientation {
@@ -14,15 +12,48 @@ public enum Orientation {
     E("E", 1, 0),
     W("W", -1, 0);
 
+    private static final Orientation[] ORIENTATIONS_BY_SYMBOL = new Orientation[128];
+
+    static {
+        for (Orientation orientation : values()) {
+            final char symbol = orientation.orientation.charAt(0);
+            ORIENTATIONS_BY_SYMBOL[Character.toUpperCase(symbol)] = orientation;
+            ORIENTATIONS_BY_SYMBOL[Character.toLowerCase(symbol)] = orientation;
+        }
+    }
+
     private final String orientation;
     private final int xIncrement;
     private final int yIncrement;
 
     public static Orientation fromString(final String orientation) {
-        return Stream.of(Orientation.values())
-                .filter(o -> o.orientation.equalsIgnoreCase(orientation))
-                .findFirst()
-                .orElseThrow(() -> new UnknownOrientationException(orientation));
+        final Orientation found = orientation.length() == 1 ? fromSymbol(orientation.charAt(0)) : null;
+        if (found == null) {
+            throw new UnknownOrientationException(orientation);
+        }
+        return found;
+    }
+
+    /**
+     * Case-insensitive.
+     *
+     * @return the orientation for the character, or {@code null} if there is none
+     */
+    public static Orientation fromSymbol(final int symbol) {
+        return symbol >= 0 && symbol < ORIENTATIONS_BY_SYMBOL.length ? ORIENTATIONS_BY_SYMBOL[symbol] : null;
+    }
+
+    /**
+     * @param quarterTurns number of quarter turns to the right, 0-3
+     */
+    public Orientation rotate(final int quarterTurns) {
+        return switch (quarterTurns) {
+            case 0 -> this;
+            case 1 -> turnRight();
+            case 2 -> turnRight().turnRight();
+            case 3 -> turnLeft();
+            default -> throw new IllegalArgumentException("Invalid number of quarter turns: " + quarterTurns);
+        };
     }
 
     public Orientation turnLeft() {
@@ -12,6 +12,10 @@ public class InvalidGridException extends RuntimeException {
     public static final String MESSAGE = "Invalid grid: [%d, %d]. Valid grid: %d <= x, y <= %d";
 
     public InvalidGridException(final int xCord, final int yCord) {
-        super(MESSAGE.formatted(xCord, yCord, Grid.MIN_VALUE, Grid.MAX_VALUE));
+        this(xCord, yCord, Grid.MAX_VALUE);
+    }
+
+    public InvalidGridException(final int xCord, final int yCord, final int maxValue) {
+        super(MESSAGE.formatted(xCord, yCord, Grid.MIN_VALUE, maxValue));
     }
 }
@@ -1,4 +1,14 @@
 package com.red_badger.exception;
 
+import java.io.Serial;
+
 public class RobotLostException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = -4581350462447935727L;
+
+    public RobotLostException() {
+        // signals an expected outcome, so skip the stack trace capture
+        super(null, null, false, false);
+    }
 }
@@ -3,7 +3,7 @@ package com.red_badger.exception;
 import com.red_badger.enums.Command;
 
 import java.io.Serial;
-import java.util.Arrays;
+import java.util.Set;
 
 public class UnknownCommandException extends RuntimeException {
 
@@ -12,7 +12,7 @@ public class UnknownCommandException extends RuntimeException {
 
     public static final String MESSAGE = "Unknown command: %s. Valid commands: %s";
 
-    public UnknownCommandException(String command) {
-        super(MESSAGE.formatted(command, Arrays.toString(Command.values())));
+    public UnknownCommandException(final String command, final Set<Command> validCommands) {
+        super(MESSAGE.formatted(command, validCommands));
     }
 }
@@ -0,0 +1,203 @@
+package com.red_badger.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms of the simulation engine, shared by every mission in the JVM.
+ * <p>
+ * Counters are {@link LongAdder}s, which spread contended updates over separate cells, so counting from many threads
+ * stays cheap. Callers on hot paths should still add counts in bulk where they can, e.g. once per line of moves.
+ * <p>
+ * Moves, turns and scent-blocked moves count every robot whose result is reported once, including results answered from
+ * a cache; speculative simulations are only counted when their result is kept, see {@link MotionTally}.
+ */
+public final class EngineMetrics implements EngineMetricsMBean, MotionMetrics {
+
+    public static final String JMX_PROPERTY = "martian.metrics.jmx";
+    public static final String SUMMARY_PROPERTY = "martian.metrics.summary";
+    public static final String OBJECT_NAME = "com.red_badger:type=EngineMetrics";
+    public static final String PARSE_LATENCY_OBJECT_NAME = "com.red_badger:type=LatencyHistogram,name=parse";
+    public static final String SIMULATE_LATENCY_OBJECT_NAME = "com.red_badger:type=LatencyHistogram,name=simulate";
+    public static final String WRITE_LATENCY_OBJECT_NAME = "com.red_badger:type=LatencyHistogram,name=write";
+    public static final String SUMMARY_FORMAT = "missions=%d lines=%d robots=%d lost=%d moves=%d turns=%d scentBlocked=%d "
+            + "parseP50=%dns parseP99=%dns simulateP50=%dns simulateP99=%dns writeP50=%dns writeP99=%dns";
+
+    private static final EngineMetrics INSTANCE = new EngineMetrics();
+
+    private final LongAdder parsedLines = new LongAdder();
+    private final LongAdder robotsProcessed = new LongAdder();
+    private final LongAdder robotsLost = new LongAdder();
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder turns = new LongAdder();
+    private final LongAdder scentBlockedMoves = new LongAdder();
+    private final LongAdder missions = new LongAdder();
+    /**
+     * Per mission, the time spent reading and parsing the input, i.e. neither simulating nor writing results.
+     */
+    private final LatencyHistogram parseLatency = new LatencyHistogram();
+    /**
+     * Per mission, the time spent simulating its robots.
+     */
+    private final LatencyHistogram simulateLatency = new LatencyHistogram();
+    /**
+     * Per mission, the time spent writing its results.
+     */
+    private final LatencyHistogram writeLatency = new LatencyHistogram();
+    /**
+     * Timing costs three clock reads per robot, so latencies are only recorded when someone is going to look at them.
+     */
+    private volatile boolean recordingLatency = Boolean.getBoolean(JMX_PROPERTY) || Boolean.getBoolean(SUMMARY_PROPERTY);
+
+    private EngineMetrics() {
+    }
+
+    public static EngineMetrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Publishes the counters and the histograms to the platform MBean server, unless they already are.
+     */
+    public static void registerMBeans() {
+        INSTANCE.setRecordingLatency(true);
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            register(server, INSTANCE, OBJECT_NAME);
+            register(server, INSTANCE.parseLatency, PARSE_LATENCY_OBJECT_NAME);
+            register(server, INSTANCE.simulateLatency, SIMULATE_LATENCY_OBJECT_NAME);
+            register(server, INSTANCE.writeLatency, WRITE_LATENCY_OBJECT_NAME);
+        } catch (final JMException e) {
+            throw new IllegalStateException("Unable to register metrics", e);
+        }
+    }
+
+    private static void register(final MBeanServer server, final Object mBean, final String name) throws JMException {
+        final var objectName = new ObjectName(name);
+        if (!server.isRegistered(objectName)) {
+            server.registerMBean(mBean, objectName);
+        }
+    }
+
+    public void linesParsed(final int lines) {
+        parsedLines.add(lines);
+    }
+
+    public void robotProcessed(final boolean lost) {
+        robotsProcessed.increment();
+        if (lost) {
+            robotsLost.increment();
+        }
+    }
+
+    @Override
+    public void moved(final int steps) {
+        moves.add(steps);
+    }
+
+    @Override
+    public void turned(final int count) {
+        turns.add(count);
+    }
+
+    @Override
+    public void scentBlocked(final int refusedMoves) {
+        scentBlockedMoves.add(refusedMoves);
+    }
+
+    public void missionCompleted() {
+        missions.increment();
+    }
+
+    /**
+     * Records how long one mission spent on parsing, simulating and writing results.
+     */
+    public void recordLatency(final long parseNanos, final long simulateNanos, final long writeNanos) {
+        parseLatency.record(parseNanos);
+        simulateLatency.record(simulateNanos);
+        writeLatency.record(writeNanos);
+    }
+
+    public boolean isRecordingLatency() {
+        return recordingLatency;
+    }
+
+    public void setRecordingLatency(final boolean recordingLatency) {
+        this.recordingLatency = recordingLatency;
+    }
+
+    public LatencyHistogram getParseLatency() {
+        return parseLatency;
+    }
+
+    public LatencyHistogram getSimulateLatency() {
+        return simulateLatency;
+    }
+
+    public LatencyHistogram getWriteLatency() {
+        return writeLatency;
+    }
+
+    @Override
+    public long getParsedLines() {
+        return parsedLines.sum();
+    }
+
+    @Override
+    public long getRobotsProcessed() {
+        return robotsProcessed.sum();
+    }
+
+    @Override
+    public long getRobotsLost() {
+        return robotsLost.sum();
+    }
+
+    @Override
+    public long getMoves() {
+        return moves.sum();
+    }
+
+    /**
+     * Counts every turn command executed, including turns that a compiled program merges or that cancel each other out.
+     */
+    @Override
+    public long getTurns() {
+        return turns.sum();
+    }
+
+    @Override
+    public long getScentBlockedMoves() {
+        return scentBlockedMoves.sum();
+    }
+
+    @Override
+    public long getMissions() {
+        return missions.sum();
+    }
+
+    @Override
+    public String getSummary() {
+        return SUMMARY_FORMAT.formatted(getMissions(), getParsedLines(), getRobotsProcessed(), getRobotsLost(), getMoves(),
+                getTurns(), getScentBlockedMoves(), parseLatency.getP50Nanos(), parseLatency.getP99Nanos(),
+                simulateLatency.getP50Nanos(), simulateLatency.getP99Nanos(), writeLatency.getP50Nanos(),
+                writeLatency.getP99Nanos());
+    }
+
+    @Override
+    public void reset() {
+        parsedLines.reset();
+        robotsProcessed.reset();
+        robotsLost.reset();
+        moves.reset();
+        turns.reset();
+        scentBlockedMoves.reset();
+        missions.reset();
+        parseLatency.reset();
+        simulateLatency.reset();
+        writeLatency.reset();
+    }
+}
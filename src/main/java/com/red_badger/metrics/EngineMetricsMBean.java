@@ -0,0 +1,25 @@
+package com.red_badger.metrics;
+
+/**
+ * Management interface of {@link EngineMetrics}.
+ */
+public interface EngineMetricsMBean {
+
+    long getParsedLines();
+
+    long getRobotsProcessed();
+
+    long getRobotsLost();
+
+    long getMoves();
+
+    long getTurns();
+
+    long getScentBlockedMoves();
+
+    long getMissions();
+
+    String getSummary();
+
+    void reset();
+}
@@ -0,0 +1,90 @@
+package com.red_badger.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe histogram of durations in nanoseconds, with a bucket per power of two.
+ */
+public class LatencyHistogram implements LatencyHistogramMBean {
+
+    private final AtomicLongArray buckets = new AtomicLongArray(Long.SIZE);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+    public void record(final long nanos) {
+        final long duration = Math.max(nanos, 0);
+        buckets.incrementAndGet(bucket(duration));
+        count.increment();
+        totalNanos.add(duration);
+        maxNanos.accumulate(duration);
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public long getMeanNanos() {
+        final long samples = count.sum();
+        return samples == 0 ? 0 : totalNanos.sum() / samples;
+    }
+
+    @Override
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    @Override
+    public long getP50Nanos() {
+        return getPercentileNanos(0.5);
+    }
+
+    @Override
+    public long getP90Nanos() {
+        return getPercentileNanos(0.9);
+    }
+
+    @Override
+    public long getP99Nanos() {
+        return getPercentileNanos(0.99);
+    }
+
+    /**
+     * @param percentile between 0 and 1
+     * @return the upper bound of the bucket holding the percentile, capped at the largest recorded duration
+     */
+    public long getPercentileNanos(final double percentile) {
+        long remaining = (long) Math.ceil(count.sum() * percentile);
+        for (int bucket = 0; bucket < buckets.length(); bucket++) {
+            remaining -= buckets.get(bucket);
+            if (remaining <= 0 && buckets.get(bucket) > 0) {
+                return Math.min(upperBound(bucket), getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+
+    public void reset() {
+        for (int bucket = 0; bucket < buckets.length(); bucket++) {
+            buckets.set(bucket, 0);
+        }
+        count.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+    /**
+     * Durations in {@code [2^(b - 1), 2^b)} go to bucket {@code b}, and 0 to bucket 0.
+     */
+    private static int bucket(final long nanos) {
+        return Math.min(Long.SIZE - Long.numberOfLeadingZeros(nanos), Long.SIZE - 1);
+    }
+
+    private static long upperBound(final int bucket) {
+        return bucket == Long.SIZE - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+}
@@ -0,0 +1,20 @@
+package com.red_badger.metrics;
+
+/**
+ * Management interface of {@link LatencyHistogram}. Percentiles are the upper bound of the power-of-two bucket they
+ * fall into.
+ */
+public interface LatencyHistogramMBean {
+
+    long getCount();
+
+    long getMeanNanos();
+
+    long getMaxNanos();
+
+    long getP50Nanos();
+
+    long getP90Nanos();
+
+    long getP99Nanos();
+}
@@ -0,0 +1,14 @@
+package com.red_badger.metrics;
+
+/**
+ * Receives the moves, turns and scent-blocked moves of simulated robots, see {@link EngineMetrics} and
+ * {@link MotionTally}.
+ */
+public interface MotionMetrics {
+
+    void moved(int steps);
+
+    void turned(int count);
+
+    void scentBlocked(int refusedMoves);
+}
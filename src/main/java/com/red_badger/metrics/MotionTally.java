@@ -0,0 +1,49 @@
+package com.red_badger.metrics;
+
+import lombok.Getter;
+
+/**
+ * Counts the moves, turns and scent-blocked moves of a simulation, so that they can be added to {@link EngineMetrics}
+ * once it is known whether the simulation counts, or added again for a result reused without simulating.
+ * Not thread-safe.
+ */
+@Getter
+public final class MotionTally implements MotionMetrics {
+
+    private int moves;
+    private int turns;
+    private int scentBlockedMoves;
+
+    @Override
+    public void moved(final int steps) {
+        moves += steps;
+    }
+
+    @Override
+    public void turned(final int count) {
+        turns += count;
+    }
+
+    @Override
+    public void scentBlocked(final int refusedMoves) {
+        scentBlockedMoves += refusedMoves;
+    }
+
+    /**
+     * Adds the counts to the metrics and starts counting from zero again.
+     */
+    public void flushTo(final MotionMetrics metrics) {
+        if (moves != 0) {
+            metrics.moved(moves);
+        }
+        if (turns != 0) {
+            metrics.turned(turns);
+        }
+        if (scentBlockedMoves != 0) {
+            metrics.scentBlocked(scentBlockedMoves);
+        }
+        moves = 0;
+        turns = 0;
+        scentBlockedMoves = 0;
+    }
+}
@@ -0,0 +1,145 @@
+package com.red_badger.service;
+
+import com.red_badger.exception.InvalidInputException;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Runs many independent missions in one process. Every mission file is read with a {@link MappedMissionReader} and simulated on a
+ * work-stealing pool with its own {@code Grid}, and its results are written to
+ * {@code <output directory>/<mission file name>.out}. Invalid missions get a {@code .err} file with the error instead.
+ * <p>
+ * Results are written to a temporary file that only becomes the {@code .out} file once the whole mission has run, so a
+ * mission never has both. Files left over from an earlier run of the same mission are replaced or removed.
+ * <p>
+ * As output files are named after the mission file alone, a manifest listing two mission files of the same name, e.g.
+ * in different directories, is rejected before any mission runs.
+ */
+@RequiredArgsConstructor
+public class BatchRunner {
+
+    public static final String OUTPUT_EXTENSION = ".out";
+    public static final String ERROR_EXTENSION = ".err";
+    public static final String DUPLICATE_MISSION_NAME_ERROR = "Mission file names must be unique, provided = '%s' and '%s'";
+
+    private final int parallelism;
+
+    public record MissionReport(Path mission, Path output, String error) {
+
+        public boolean failed() {
+            return error != null;
+        }
+    }
+
+    public BatchRunner() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param source          a directory holding the mission files, or a manifest listing one mission file per line
+     *                        (relative paths are resolved against the manifest's directory)
+     * @param outputDirectory created if missing
+     * @return a report per mission, in the order the missions were listed
+     */
+    public List<MissionReport> run(final Path source, final Path outputDirectory) throws IOException {
+        final List<Path> missions = listMissions(source);
+        rejectDuplicateNames(missions);
+        Files.createDirectories(outputDirectory);
+
+        final ExecutorService pool = Executors.newWorkStealingPool(parallelism);
+        try {
+            final List<Future<MissionReport>> futures = new ArrayList<>(missions.size());
+            for (Path mission : missions) {
+                futures.add(pool.submit(() -> runMission(mission, outputDirectory)));
+            }
+
+            final List<MissionReport> reports = new ArrayList<>(futures.size());
+            for (Future<MissionReport> future : futures) {
+                reports.add(future.get());
+            }
+            return reports;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch run interrupted", e);
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException("Batch run failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void rejectDuplicateNames(final List<Path> missions) {
+        final Map<Path, Path> missionsByName = new HashMap<>();
+        for (Path mission : missions) {
+            final Path other = missionsByName.putIfAbsent(mission.getFileName(), mission);
+            if (other != null) {
+                throw new InvalidInputException(DUPLICATE_MISSION_NAME_ERROR.formatted(other, mission));
+            }
+        }
+    }
+
+    protected static List<Path> listMissions(final Path source) throws IOException {
+        if (Files.isDirectory(source)) {
+            try (Stream<Path> files = Files.list(source)) {
+                return files.filter(Files::isRegularFile).sorted().toList();
+            }
+        }
+
+        final Path manifestDirectory = source.toAbsolutePath().getParent();
+        try (Stream<String> lines = Files.lines(source)) {
+            return lines.map(String::trim)
+                    .filter(line -> !line.isEmpty())
+                    .map(manifestDirectory::resolve)
+                    .toList();
+        }
+    }
+
+    protected MissionReport runMission(final Path mission, final Path outputDirectory) {
+        final String name = mission.getFileName().toString();
+        final Path output = outputDirectory.resolve(name + OUTPUT_EXTENSION);
+        final Path errorFile = outputDirectory.resolve(name + ERROR_EXTENSION);
+
+        Path partialOutput = null;
+        try {
+            partialOutput = Files.createTempFile(outputDirectory, name, OUTPUT_EXTENSION + ".tmp");
+            try (var resultWriter = new ResultWriter(Files.newOutputStream(partialOutput))) {
+                new MappedMissionReader().read(mission, new MissionRunner(resultWriter));
+            }
+            Files.move(partialOutput, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.deleteIfExists(errorFile);
+            return new MissionReport(mission, output, null);
+        } catch (final InvalidInputException e) {
+            return reportFailure(mission, partialOutput, output, errorFile, e.getMessage());
+        } catch (final IOException | RuntimeException e) {
+            return reportFailure(mission, partialOutput, output, errorFile, "Error processing mission: " + e.getMessage());
+        }
+    }
+
+    private static MissionReport reportFailure(final Path mission, final Path partialOutput, final Path output,
+                                               final Path errorFile, final String error) {
+        try {
+            if (partialOutput != null) {
+                Files.deleteIfExists(partialOutput);
+            }
+            Files.deleteIfExists(output);
+            Files.writeString(errorFile, error + System.lineSeparator());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new MissionReport(mission, errorFile, error);
+    }
+}
@@ -0,0 +1,40 @@
+package com.red_badger.service;
+
+import com.red_badger.domain.CommandRegistry;
+import com.red_badger.enums.Command;
+
+/**
+ * A compact binary encoding of missions, written by {@link BinaryMissionWriter} and read by
+ * {@link BinaryMissionReader}. All numbers are unsigned LEB128 varints unless stated otherwise.
+ * <ul>
+ *     <li>header: magic {@code MRBM} (4 bytes), format version (byte), the number of commands in the alphabet (byte)
+ *     followed by their symbols (a byte each)</li>
+ *     <li>grid: upper-right x, upper-right y</li>
+ *     <li>every robot, until the end of the input: x, {@code y << 2 | orientation}, the number of commands, then the
+ *     commands as indexes into the alphabet, packed {@link #bitsPerCommand(int)} bits each, least significant bits
+ *     first, padded to a whole byte</li>
+ * </ul>
+ * With the standard commands a program takes 2 bits per command instead of a byte.
+ */
+public final class BinaryMissionFormat {
+
+    public static final byte[] MAGIC = {'M', 'R', 'B', 'M'};
+    public static final byte FORMAT_VERSION = 1;
+
+    private BinaryMissionFormat() {
+    }
+
+    /**
+     * @return the bits needed to tell the commands of an alphabet apart, at least 1
+     */
+    public static int bitsPerCommand(final int alphabetSize) {
+        return Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(alphabetSize - 1));
+    }
+
+    /**
+     * @return the registered commands in the order of their indexes
+     */
+    static Command[] alphabet(final CommandRegistry commandRegistry) {
+        return commandRegistry.getCommands().toArray(new Command[0]);
+    }
+}
@@ -0,0 +1,167 @@
+package com.red_badger.service;
+
+import com.red_badger.domain.AbstractRobot;
+import com.red_badger.domain.CommandRegistry;
+import com.red_badger.domain.Grid;
+import com.red_badger.domain.MarsRobot;
+import com.red_badger.enums.Command;
+import com.red_badger.enums.Orientation;
+import com.red_badger.exception.InvalidInputException;
+import com.red_badger.metrics.EngineMetrics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.red_badger.service.InputParser.*;
+
+/**
+ * Reads a mission in the {@link BinaryMissionFormat} and hands it to a listener, the same way {@link InputParser}
+ * does for text. Commands are decoded by bit extraction. The same limits and commands apply as for text, and the
+ * same errors are reported, except that an overlong program is named by its robot number rather than echoed, as it is
+ * rejected before it is decoded. Not thread-safe.
+ */
+public class BinaryMissionReader {
+
+    public static final String INVALID_BINARY_ERROR = "Not a binary mission, or an unsupported version";
+    public static final String TRUNCATED_ERROR = "Binary mission ends in the middle of a record";
+    /**
+     * Stands in for the instruction line in {@link InputParser#INSTRUCTION_SIZE_ERROR}, as an overlong program is
+     * rejected before it is decoded.
+     */
+    public static final String ROBOT_RECORD = "robot %d";
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final Orientation[] ORIENTATIONS = Orientation.values();
+
+    private final InputParser lineParser;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private InputStream input;
+    private int position;
+    private int limit;
+
+    public BinaryMissionReader() {
+        this(new InputParser());
+    }
+
+    /**
+     * @param lineParser provides the commands and limits, and validates positions
+     */
+    public BinaryMissionReader(final InputParser lineParser) {
+        this.lineParser = lineParser;
+    }
+
+    /**
+     * @return {@code true} if the file starts with the binary mission magic
+     */
+    public static boolean isBinaryMission(final Path path) throws IOException {
+        try (InputStream input = Files.newInputStream(path)) {
+            return Arrays.equals(input.readNBytes(BinaryMissionFormat.MAGIC.length), BinaryMissionFormat.MAGIC);
+        }
+    }
+
+    public void read(final InputStream input, final InputParser.MissionListener listener) throws IOException {
+        this.input = input;
+        this.position = 0;
+        this.limit = 0;
+
+        for (byte magic : BinaryMissionFormat.MAGIC) {
+            if (!hasMore() || readByte() != magic) {
+                throw new InvalidInputException(INVALID_BINARY_ERROR);
+            }
+        }
+        if (readByte() != BinaryMissionFormat.FORMAT_VERSION) {
+            throw new InvalidInputException(INVALID_BINARY_ERROR);
+        }
+        final char[] symbols = new char[readByte() & 0xFF];
+        final Command[] alphabet = new Command[symbols.length];
+        final CommandRegistry commandRegistry = lineParser.getCommandRegistry();
+        for (int code = 0; code < symbols.length; code++) {
+            symbols[code] = (char) (readByte() & 0xFF);
+            alphabet[code] = commandRegistry.lookup(symbols[code]);
+        }
+        final int bitsPerCommand = BinaryMissionFormat.bitsPerCommand(symbols.length);
+        final int codeMask = (1 << bitsPerCommand) - 1;
+
+        final int upperRightX = readVarint();
+        final int upperRightY = readVarint();
+        lineParser.validateInputPositionRange(upperRightX, upperRightY, "grid");
+        final Grid grid = Grid.createGrid(upperRightX, upperRightY, lineParser.getLimits().maxGridValue());
+        listener.onGrid(grid);
+
+        int robots = 0;
+        while (hasMore()) {
+            final int xCord = readVarint();
+            final int packed = readVarint();
+            final int yCord = packed >>> 2;
+            lineParser.validateInputPositionRange(xCord, yCord, "robot");
+            final AbstractRobot robot = new MarsRobot(xCord, yCord, ORIENTATIONS[packed & 3]);
+            InputParser.validateRobotOnGrid(grid, robot);
+
+            final int commandCount = readVarint();
+            // a count read from a corrupt file must not make the reader decode billions of commands first
+            if (commandCount < 0 || commandCount > lineParser.getLimits().maxInstructionSize()) {
+                throw new InvalidInputException(INSTRUCTION_SIZE_ERROR.formatted(lineParser.getLimits().maxInstructionSize(),
+                        Integer.toUnsignedLong(commandCount), ROBOT_RECORD.formatted(robots + 1)));
+            }
+            final List<Command> commands = new ArrayList<>(commandCount);
+            int bits = 0;
+            int bitCount = 0;
+            for (int i = 0; i < commandCount; i++) {
+                if (bitCount < bitsPerCommand) {
+                    bits |= (readByte() & 0xFF) << bitCount;
+                    bitCount += Byte.SIZE;
+                }
+                final int code = bits & codeMask;
+                bits >>>= bitsPerCommand;
+                bitCount -= bitsPerCommand;
+                final Command command = code < alphabet.length ? alphabet[code] : null;
+                if (command == null) {
+                    throw new InvalidInputException(UNKNOWN_INSTRUCTION_ERROR.formatted(
+                            code < symbols.length ? symbols[code] : '?', commandRegistry.describe()));
+                }
+                commands.add(command);
+            }
+            listener.onRobot(robot, commands);
+            robots++;
+        }
+        EngineMetrics.get().linesParsed(1 + 2 * robots);
+
+        if (robots == 0) {
+            throw new InvalidInputException(MINIMAL_INSTRUCTION_ERROR);
+        }
+        listener.onComplete();
+    }
+
+    private int readVarint() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            final byte b = readByte();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new InvalidInputException(INVALID_BINARY_ERROR);
+    }
+
+    private byte readByte() throws IOException {
+        if (!hasMore()) {
+            throw new InvalidInputException(TRUNCATED_ERROR);
+        }
+        return buffer[position++];
+    }
+
+    private boolean hasMore() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+        limit = Math.max(input.read(buffer), 0);
+        position = 0;
+        return limit > 0;
+    }
+}
@@ -0,0 +1,157 @@
+package com.red_badger.service;
+
+import com.red_badger.domain.AbstractRobot;
+import com.red_badger.domain.CommandRegistry;
+import com.red_badger.domain.Grid;
+import com.red_badger.enums.Command;
+import com.red_badger.exception.UnknownCommandException;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes a mission in the {@link BinaryMissionFormat} as it is parsed, e.g. to convert a text mission:
+ * {@code new InputParser().parseInput(text, new BinaryMissionWriter(binary))}. Output is buffered until
+ * {@link #flush()} or {@link #close()}. Not thread-safe.
+ */
+public class BinaryMissionWriter implements InputParser.MissionListener, Flushable, Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_VARINT_SIZE = 5;
+
+    private final OutputStream output;
+    private final Command[] alphabet;
+    /**
+     * The code of every command in the alphabet, by ordinal; -1 for commands outside it.
+     */
+    private final int[] codes = new int[Command.values().length];
+    private final Set<Command> commands;
+    private final int bitsPerCommand;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+
+    public BinaryMissionWriter(final OutputStream output) {
+        this(output, CommandRegistry.standard());
+    }
+
+    /**
+     * @param commandRegistry the commands the mission may contain
+     */
+    public BinaryMissionWriter(final OutputStream output, final CommandRegistry commandRegistry) {
+        this.output = output;
+        this.alphabet = BinaryMissionFormat.alphabet(commandRegistry);
+        this.bitsPerCommand = BinaryMissionFormat.bitsPerCommand(alphabet.length);
+        this.commands = commandRegistry.getCommands();
+        Arrays.fill(codes, -1);
+        for (int code = 0; code < alphabet.length; code++) {
+            codes[alphabet[code].ordinal()] = code;
+        }
+    }
+
+    @Override
+    public void onGrid(final Grid grid) {
+        writeBytes(BinaryMissionFormat.MAGIC);
+        writeByte(BinaryMissionFormat.FORMAT_VERSION);
+        writeByte(alphabet.length);
+        for (Command command : alphabet) {
+            writeByte(command.getCommand().charAt(0));
+        }
+        writeVarint(grid.getUpperRightX());
+        writeVarint(grid.getUpperRightY());
+    }
+
+    /**
+     * @throws UnknownCommandException if a command is not in the writer's registry, before anything of the robot is
+     *                                 written
+     */
+    @Override
+    public void onRobot(final AbstractRobot robot, final List<Command> commands) {
+        for (Command command : commands) {
+            if (codes[command.ordinal()] < 0) {
+                throw new UnknownCommandException(command.getCommand(), this.commands);
+            }
+        }
+        ensureCapacity(3 * MAX_VARINT_SIZE);
+        writeVarint(robot.getXCord());
+        writeVarint(robot.getYCord() << 2 | robot.getOrientation().ordinal());
+        writeVarint(commands.size());
+
+        int bits = 0;
+        int bitCount = 0;
+        for (Command command : commands) {
+            bits |= codes[command.ordinal()] << bitCount;
+            bitCount += bitsPerCommand;
+            if (bitCount >= Byte.SIZE) {
+                writeByte(bits);
+                bits >>>= Byte.SIZE;
+                bitCount -= Byte.SIZE;
+            }
+        }
+        if (bitCount > 0) {
+            writeByte(bits);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        flush();
+    }
+
+    @Override
+    public void flush() {
+        try {
+            output.write(buffer, 0, position);
+            position = 0;
+            output.flush();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try (output) {
+            flush();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeVarint(final int value) {
+        ensureCapacity(MAX_VARINT_SIZE);
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            buffer[position++] = (byte) (remaining & 0x7F | 0x80);
+            remaining >>>= 7;
+        }
+        buffer[position++] = (byte) remaining;
+    }
+
+    private void writeBytes(final byte[] bytes) {
+        for (byte b : bytes) {
+            writeByte(b);
+        }
+    }
+
+    private void writeByte(final int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    private void ensureCapacity(final int length) {
+        if (buffer.length - position < length) {
+            try {
+                output.write(buffer, 0, position);
+                position = 0;
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.red_badger.service;
+
+import com.red_badger.domain.AbstractRobot;
+import com.red_badger.domain.Grid;
+import com.red_badger.domain.GridSnapshot;
+import com.red_badger.enums.Command;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Continues a mission from a {@link GridSnapshot}: the grid gets the scent and parked robots saved by the previous
+ * installment before any robot is simulated, and the snapshot is replaced once the mission completes. The mission's
+ * grid line has to match the snapshot's bounds. Without a snapshot file, the mission starts from an empty grid.
+ */
+@RequiredArgsConstructor
+public class CheckpointListener implements InputParser.MissionListener {
+
+    public static final String CHECKPOINT_PROPERTY = "martian.checkpoint";
+
+    private final Path snapshot;
+    private final InputParser.MissionListener listener;
+    private Grid grid;
+
+    /**
+     * @return the listener, checkpointed to the file named by the {@value #CHECKPOINT_PROPERTY} system property if it
+     * is set
+     */
+    public static InputParser.MissionListener fromSystemProperties(final InputParser.MissionListener listener) {
+        final String snapshot = System.getProperty(CHECKPOINT_PROPERTY);
+        return snapshot == null ? listener : new CheckpointListener(Path.of(snapshot), listener);
+    }
+
+    @Override
+    public void onGrid(final Grid grid) {
+        this.grid = grid;
+        if (Files.exists(snapshot)) {
+            try {
+                GridSnapshot.restore(snapshot, grid);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        listener.onGrid(grid);
+    }
+
+    @Override
+    public void onRobot(final AbstractRobot robot, final List<Command> commands) {
+        listener.onRobot(robot, commands);
+    }
+
+    @Override
+    public void onComplete() {
+        listener.onComplete();
+        try {
+            GridSnapshot.save(grid, snapshot);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
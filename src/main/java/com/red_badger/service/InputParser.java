@@ -1,21 +1,26 @@
 package com.red_badger.service;
 
 import com.red_badger.domain.AbstractRobot;
+import com.red_badger.domain.CommandRegistry;
 import com.red_badger.domain.Grid;
 import com.red_badger.domain.MarsRobot;
+import com.red_badger.domain.MissionLimits;
+import com.red_badger.domain.RobotFleet;
 import com.red_badger.enums.Command;
 import com.red_badger.enums.InputType;
 import com.red_badger.enums.Orientation;
 import com.red_badger.exception.InvalidInputException;
+import com.red_badger.metrics.EngineMetrics;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class InputParser {
 
@@ -25,83 +30,139 @@ public class InputParser {
     public static final String ROBOT_POSITION_NUMBER_ERROR = "Robot position must be a number. ";
     public static final String ROBOT_ORIENTATION_ERROR = "Invalid robot orientation: %s. Orientation must be one of %s";
     public static final String ROBOT_INSTRUCTION_SIZE_ERROR = "Robot instruction must have 3 parts, provided = '%s'";
+    public static final String ROBOT_OUTSIDE_GRID_ERROR = "Robot position is outside of grid: %d %d. Position must be within ranges %d-%d";
     public static final String MINIMAL_INSTRUCTION_ERROR = "Provide grid size, robot position and instructions";
     public static final String UNKNOWN_INSTRUCTION_ERROR = "Unknown instruction: '%s'. Instruction must be one of %s";
     public static final String INSTRUCTION_SIZE_ERROR = "Instructions must be less than %d characters, provided - '%d' (%s)";
-    public static final int MAX_INSTRUCTION_SIZE = 100;
+    public static final int MAX_INSTRUCTION_SIZE = MissionLimits.DEFAULT_MAX_INSTRUCTION_SIZE;
 
     @Getter(AccessLevel.PROTECTED)
     @Setter(AccessLevel.PROTECTED)
     private InputType inputType;
+    @Getter(AccessLevel.PROTECTED)
+    private final CommandRegistry commandRegistry;
+    @Getter(AccessLevel.PROTECTED)
+    private final MissionLimits limits;
 
     public record Configuration(Grid grid, Map<AbstractRobot, List<Command>> robots) {
     }
 
+    public record FleetConfiguration(Grid grid, RobotFleet fleet) {
+    }
+
+    /**
+     * Receives the mission as it is being parsed: the grid first, then every robot together with its
+     * instructions, in input order.
+     */
+    public interface MissionListener {
+
+        void onGrid(Grid grid);
+
+        void onRobot(AbstractRobot robot, List<Command> commands);
+
+        /**
+         * Called once the whole input has been parsed successfully.
+         */
+        default void onComplete() {
+        }
+    }
+
+    /**
+     * Uses the standard commands and the limits set through system properties, see
+     * {@link MissionLimits#fromSystemProperties()}.
+     */
     public InputParser() {
+        this(CommandRegistry.standard());
+    }
+
+    /**
+     * @param commandRegistry the commands accepted in instruction lines
+     */
+    public InputParser(final CommandRegistry commandRegistry) {
+        this(commandRegistry, MissionLimits.fromSystemProperties());
+    }
+
+    public InputParser(final CommandRegistry commandRegistry, final MissionLimits limits) {
+        this.commandRegistry = commandRegistry;
+        this.limits = limits;
         inputType = InputType.GRID;
     }
 
     public Configuration parseInput() {
-        final List<String> lines = new ArrayList<>();
-        String line;
+        final var collector = new ConfigurationCollector();
+        parseInput(System.in, collector);
+        return collector.toConfiguration();
+    }
 
-        try (var bufferedReader = new BufferedReader(new InputStreamReader(System.in))) {
-            while((line = bufferedReader.readLine()) != null) {
-                if (line.isEmpty()) {
-                    continue;
-                }
-                lines.add(line.trim());
-            }
-        } catch (Exception e) {
+    /**
+     * Parses the whole input into a {@link RobotFleet}, keeping every robot in compact form.
+     */
+    public FleetConfiguration parseFleet(final InputStream inputStream) {
+        final var collector = new FleetCollector();
+        parseInput(inputStream, collector);
+        return new FleetConfiguration(collector.grid, collector.fleet);
+    }
+
+    /**
+     * Validates and parses the input line by line, handing every robot to the listener as soon as its
+     * instruction line has been read. Nothing but the current robot is kept in memory.
+     */
+    public void parseInput(final InputStream inputStream, final MissionListener listener) {
+        try (var bufferedReader = new BufferedReader(new InputStreamReader(inputStream))) {
+            parseLines(bufferedReader.lines().iterator(), listener);
+        } catch (final UncheckedIOException e) {
+            throw new RuntimeException("Error reading input", e.getCause());
+        } catch (final IOException e) {
             throw new RuntimeException("Error reading input", e);
         }
-
-        validateInput(lines);
-        return parseConfiguration(lines);
     }
 
     protected Configuration parseConfiguration(final List<String> lines) {
+        final var collector = new ConfigurationCollector();
+        parseLines(lines.iterator(), collector);
+        return collector.toConfiguration();
+    }
+
+    protected void parseLines(final Iterator<String> lines, final MissionListener listener) {
         Grid grid = null;
         AbstractRobot currentRobot = null;
-        Map<AbstractRobot, List<Command>> robots = new LinkedHashMap<>();
+        int lineCount = 0;
 
         inputType = InputType.GRID;
-        for (String line : lines) {
+        while (lines.hasNext()) {
+            final String line = lines.next().trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            lineCount++;
             switch (inputType) {
-                case GRID:
-                    final String[] gridInput = line.split(" ");
-                    grid = Grid.createGrid(Integer.parseInt(gridInput[0]), Integer.parseInt(gridInput[1]));
+                case GRID -> {
+                    grid = parseGridLine(line);
+                    listener.onGrid(grid);
                     inputType = InputType.ROBOT;
-                    break;
-                case ROBOT:
-                    final String[] robotInput = line.split(" ");
-                    final int xCord = Integer.parseInt(robotInput[0]);
-                    final int yCord = Integer.parseInt(robotInput[1]);
-
+                }
+                case ROBOT -> {
+                    currentRobot = parseRobotLine(line);
                     // safe to ignore warning as grid is always initialised before robot
-                    if (!grid.isValidPosition(xCord, yCord)) {
-                        throw new InvalidInputException(
-                                "Robot position is outside of grid: %d %d. Position must be within ranges %d-%d"
-                                        .formatted(xCord, yCord, grid.getUpperRightX(), grid.getUpperRightY())
-                        );
-                    }
-                    final Orientation orientation = Orientation.fromString(robotInput[2]);
-                    currentRobot = new MarsRobot(xCord, yCord, orientation);
-                    robots.put(currentRobot, new ArrayList<>());
+                    validateRobotOnGrid(grid, currentRobot);
                     inputType = InputType.INSTRUCTION;
-                    break;
-                case INSTRUCTION:
-                    final AbstractRobot finalCurrentRobot = currentRobot;
-                    Stream.of(line.split(""))
-                            .map(Command::fromString)
-                            .forEach(command -> robots.get(finalCurrentRobot).add(command));
-                    inputType = InputType.ROBOT;
+                }
+                case INSTRUCTION -> {
+                    listener.onRobot(currentRobot, parseInstructionLine(line));
                     currentRobot = null;
-                    break;
+                    inputType = InputType.ROBOT;
+                }
             }
         }
+        EngineMetrics.get().linesParsed(lineCount);
 
-        return new Configuration(grid, robots);
+        if (lineCount < 3) {
+            throw new InvalidInputException(MINIMAL_INSTRUCTION_ERROR);
+        }
+        if (currentRobot != null) {
+            listener.onRobot(currentRobot, new ArrayList<>());
+        }
+        listener.onComplete();
     }
 
     protected void validateInput(final List<String> input) throws InvalidInputException {
@@ -124,25 +185,37 @@ public class InputParser {
     }
 
     protected void validateInstructionInput(final String line) {
-        if (line.length() > MAX_INSTRUCTION_SIZE) {
-            throw new InvalidInputException(INSTRUCTION_SIZE_ERROR.formatted(MAX_INSTRUCTION_SIZE, line.length(), line));
+        parseInstructionLine(line);
+        inputType = InputType.ROBOT;
+    }
+
+    protected void validateRobotInput(final String line) {
+        parseRobotLine(line);
+        inputType = InputType.INSTRUCTION;
+    }
+
+    protected void validateGridInput(final String line) {
+        parseGridLine(line);
+        inputType = InputType.ROBOT;
+    }
+
+    protected List<Command> parseInstructionLine(final String line) {
+        if (line.length() > limits.maxInstructionSize()) {
+            throw new InvalidInputException(INSTRUCTION_SIZE_ERROR.formatted(limits.maxInstructionSize(), line.length(), line));
         }
-        final var validInstructions = Stream.of(Command.values())
-                .map(Command::getCommand)
-                .collect(Collectors.toSet());
 
-        Stream.of(line.split(""))
-                .filter(c -> !validInstructions.contains(c.toUpperCase(Locale.ROOT)))
-                .findFirst()
-                .ifPresentOrElse(
-                        unknown -> {
-                            throw new InvalidInputException(UNKNOWN_INSTRUCTION_ERROR.formatted(unknown, Arrays.toString(Command.values())));
-                        },
-                        () -> inputType = InputType.ROBOT
-                );
+        final List<Command> commands = new ArrayList<>(line.length());
+        for (int i = 0; i < line.length(); i++) {
+            final Command command = commandRegistry.lookup(line.charAt(i));
+            if (command == null) {
+                throw new InvalidInputException(UNKNOWN_INSTRUCTION_ERROR.formatted(line.charAt(i), commandRegistry.describe()));
+            }
+            commands.add(command);
+        }
+        return commands;
     }
 
-    protected void validateRobotInput(final String line) {
+    protected AbstractRobot parseRobotLine(final String line) {
         final String[] input = line.split(" ");
         if (input.length != 3) {
             throw new InvalidInputException(ROBOT_INSTRUCTION_SIZE_ERROR.formatted(line));
@@ -153,28 +226,18 @@ public class InputParser {
             int y = Integer.parseInt(input[1]);
             validateInputPositionRange(x, y, "robot");
 
-            final String direction = input[2].toUpperCase(Locale.ROOT);
-            final String validDirections = Stream.of(Orientation.values())
-                    .map(Orientation::getOrientation)
-                    .collect(Collectors.joining(""));
-
-            if (!direction.matches("[" + validDirections + "]")) {
-                throw new InvalidInputException(ROBOT_ORIENTATION_ERROR.formatted(direction, Arrays.toString(Orientation.values())));
+            final Orientation orientation = input[2].length() == 1 ? Orientation.fromSymbol(input[2].charAt(0)) : null;
+            if (orientation == null) {
+                throw new InvalidInputException(ROBOT_ORIENTATION_ERROR.formatted(input[2].toUpperCase(Locale.ROOT), Arrays.toString(Orientation.values())));
             }
 
-            inputType = InputType.INSTRUCTION;
+            return new MarsRobot(x, y, orientation);
         } catch (NumberFormatException e) {
             throw new InvalidInputException(ROBOT_POSITION_NUMBER_ERROR + e.getMessage());
         }
     }
 
-    private static void validateInputPositionRange(int x, int y, String type) {
-        if (x < Grid.MIN_VALUE || y < Grid.MIN_VALUE || x > Grid.MAX_VALUE || y > Grid.MAX_VALUE) {
-            throw new InvalidInputException(INVALID_COORDINATES_ERROR.formatted(type, x, y, Grid.MIN_VALUE, Grid.MAX_VALUE));
-        }
-    }
-
-    protected void validateGridInput(final String line) {
+    protected Grid parseGridLine(final String line) {
         final String[] input = line.split(" ");
         if (input.length != 2) {
             throw new InvalidInputException(GRID_SIZE_ERROR.formatted(line));
@@ -184,10 +247,60 @@ public class InputParser {
             int y = Integer.parseInt(input[1]);
             validateInputPositionRange(x, y, "grid");
 
-            inputType = InputType.ROBOT;
+            return Grid.createGrid(x, y, limits.maxGridValue());
         } catch (NumberFormatException e) {
             throw new InvalidInputException(GRID_SIZE_NUMERIC_ERROR.formatted(line));
         }
+    }
 
+    protected static void validateRobotOnGrid(final Grid grid, final AbstractRobot robot) {
+        if (!grid.isValidPosition(robot.getXCord(), robot.getYCord())) {
+            throw new InvalidInputException(
+                    ROBOT_OUTSIDE_GRID_ERROR.formatted(robot.getXCord(), robot.getYCord(), grid.getUpperRightX(), grid.getUpperRightY())
+            );
+        }
+    }
+
+    protected void validateInputPositionRange(int x, int y, String type) {
+        final int maxValue = limits.maxGridValue();
+        if (x < Grid.MIN_VALUE || y < Grid.MIN_VALUE || x > maxValue || y > maxValue) {
+            throw new InvalidInputException(INVALID_COORDINATES_ERROR.formatted(type, x, y, Grid.MIN_VALUE, maxValue));
+        }
+    }
+
+    private static final class ConfigurationCollector implements MissionListener {
+
+        private final Map<AbstractRobot, List<Command>> robots = new LinkedHashMap<>();
+        private Grid grid;
+
+        @Override
+        public void onGrid(final Grid grid) {
+            this.grid = grid;
+        }
+
+        @Override
+        public void onRobot(final AbstractRobot robot, final List<Command> commands) {
+            robots.put(robot, commands);
+        }
+
+        private Configuration toConfiguration() {
+            return new Configuration(grid, robots);
+        }
+    }
+
+    private static final class FleetCollector implements MissionListener {
+
+        private final RobotFleet fleet = new RobotFleet();
+        private Grid grid;
+
+        @Override
+        public void onGrid(final Grid grid) {
+            this.grid = grid;
+        }
+
+        @Override
+        public void onRobot(final AbstractRobot robot, final List<Command> commands) {
+            fleet.add(robot, commands);
+        }
     }
 }
@@ -1,20 +1,55 @@
 package com.red_badger.service;
 
 import com.red_badger.domain.AbstractRobot;
+import com.red_badger.domain.CompiledProgram;
 import com.red_badger.domain.Grid;
+import com.red_badger.domain.RobotFleet;
+import com.red_badger.domain.SimulationResult;
 import com.red_badger.enums.Command;
-import com.red_badger.exception.RobotLostException;
-import lombok.RequiredArgsConstructor;
+import com.red_badger.enums.CommandResult;
+import com.red_badger.enums.Orientation;
+import com.red_badger.metrics.EngineMetrics;
+import com.red_badger.metrics.MotionTally;
+import com.red_badger.trace.PathTracer;
+import lombok.Getter;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 
-@RequiredArgsConstructor
 public class InputProcessor {
 
+    public static final String PARK_ROBOTS_PROPERTY = "martian.robots.park";
+
     private final Grid grid;
     private final Map<AbstractRobot, List<Command>> robots;
+    /**
+     * Whether robots that are not lost stay on the grid, blocking the cell for the robots after them.
+     */
+    @Getter
+    private final boolean parkingRobots;
+    private final ProgramCompiler programCompiler = new ProgramCompiler();
+    private final ResultCache resultCache = new ResultCache();
+    private final MotionTally motion = new MotionTally();
+
+    public InputProcessor(final Grid grid) {
+        this(grid, Map.of());
+    }
+
+    /**
+     * Parks robots if the {@value #PARK_ROBOTS_PROPERTY} system property is {@code true}.
+     */
+    public InputProcessor(final Grid grid, final Map<AbstractRobot, List<Command>> robots) {
+        this(grid, robots, Boolean.getBoolean(PARK_ROBOTS_PROPERTY));
+    }
+
+    public InputProcessor(final Grid grid, final Map<AbstractRobot, List<Command>> robots, final boolean parkingRobots) {
+        this.grid = grid;
+        this.robots = robots;
+        this.parkingRobots = parkingRobots;
+    }
 
     public List<String> processInput() {
         return robots.keySet().stream()
@@ -22,13 +57,89 @@ public class InputProcessor {
                 .collect(Collectors.toList());
     }
 
-    private String processRobotCommand(final AbstractRobot robot, final List<Command> commands) {
-        try {
-            robot.processCommands(grid, commands);
-            return robot.getXCord() + " " + robot.getYCord() + " " + robot.getOrientation().getOrientation();
-        } catch (final RobotLostException e) {
-            return robot.getXCord() + " " + robot.getYCord() + " " + robot.getOrientation().getOrientation() + " LOST";
+    /**
+     * Repeated programs from the same starting position are answered from a {@link ResultCache} while the grid's scent
+     * is unchanged, in which case the robot is not moved.
+     */
+    public String processRobotCommand(final AbstractRobot robot, final List<Command> commands) {
+        return simulate(robot, commands).format();
+    }
+
+    /**
+     * Same as {@link #processRobotCommand(AbstractRobot, List)}, returning the result unformatted.
+     */
+    public SimulationResult simulate(final AbstractRobot robot, final List<Command> commands) {
+        final CompiledProgram program = programCompiler.compile(commands);
+        final SimulationResult result = resultCache.getOrSimulate(grid, robot, program, motion,
+                () -> SimulationResult.of(robot, robot.executeProgram(grid, program, motion)));
+        motion.flushTo(EngineMetrics.get());
+        finishRobot(result.xCord(), result.yCord(), result.result());
+        return result;
+    }
+
+    /**
+     * Same as {@link #simulate(AbstractRobot, List)}, executing one command at a time and recording the robot's pose
+     * before the first and after every command. Bypasses the {@link ResultCache}, as a cached result has no path.
+     */
+    public SimulationResult simulate(final AbstractRobot robot, final List<Command> commands, final PathTracer tracer, final int robotId) {
+        tracer.record(robotId, 0, robot.getXCord(), robot.getYCord(), robot.getOrientation());
+        CommandResult result = CommandResult.EXECUTED;
+        for (int step = 0; step < commands.size() && result != CommandResult.LOST; step++) {
+            if (robot.executeCommand(grid, commands.get(step)) == CommandResult.LOST) {
+                result = CommandResult.LOST;
+            }
+            tracer.record(robotId, step + 1, robot.getXCord(), robot.getYCord(), robot.getOrientation());
         }
+        finishRobot(robot.getXCord(), robot.getYCord(), result);
+        return SimulationResult.of(robot, result);
+    }
+
+    /**
+     * Simulates every robot of the fleet in order, passing each result on as soon as it is known.
+     */
+    public void processFleet(final RobotFleet fleet, final Consumer<String> output) {
+        simulateFleet(fleet, robot -> output.accept(formatResult(fleet.getXCord(robot), fleet.getYCord(robot), fleet.getOrientation(robot), fleet.getStatus(robot))));
+    }
+
+    /**
+     * Same as {@link #processFleet(RobotFleet, Consumer)}, writing the results without formatting them into strings.
+     */
+    public void processFleet(final RobotFleet fleet, final ResultWriter resultWriter) {
+        simulateFleet(fleet, robot -> resultWriter.write(fleet.getXCord(robot), fleet.getYCord(robot), fleet.getOrientation(robot), fleet.getStatus(robot)));
+    }
+
+    /**
+     * Simulates the fleet {@link RobotFleet#BATCH_SIZE} robots at a time, or one at a time when parking, since every
+     * parked robot may block the next one.
+     */
+    private void simulateFleet(final RobotFleet fleet, final IntConsumer simulatedRobot) {
+        final int batchSize = parkingRobots ? 1 : RobotFleet.BATCH_SIZE;
+        for (int first = 0; first < fleet.size(); first += batchSize) {
+            final int end = Math.min(fleet.size(), first + batchSize);
+            fleet.simulateBatch(first, end, grid);
+            for (int robot = first; robot < end; robot++) {
+                finishRobot(fleet.getXCord(robot), fleet.getYCord(robot), fleet.getStatus(robot));
+                simulatedRobot.accept(robot);
+            }
+        }
+    }
+
+    /**
+     * Counts the processed robot and, if enabled, parks it.
+     */
+    private void finishRobot(final int xCord, final int yCord, final CommandResult result) {
+        EngineMetrics.get().robotProcessed(result == CommandResult.LOST);
+        if (parkingRobots && result != CommandResult.LOST) {
+            grid.occupyPosition(xCord, yCord);
+        }
+    }
+
+    public static String formatResult(final AbstractRobot robot, final CommandResult result) {
+        return formatResult(robot.getXCord(), robot.getYCord(), robot.getOrientation(), result);
+    }
+
+    public static String formatResult(final int xCord, final int yCord, final Orientation orientation, final CommandResult result) {
+        return new SimulationResult(xCord, yCord, orientation, result).format();
     }
 
 }
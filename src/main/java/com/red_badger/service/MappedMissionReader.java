@@ -0,0 +1,131 @@
+package com.red_badger.service;
+
+import com.red_badger.domain.AbstractRobot;
+import com.red_badger.domain.Grid;
+import com.red_badger.enums.InputType;
+import com.red_badger.exception.InvalidInputException;
+import com.red_badger.metrics.EngineMetrics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+import static com.red_badger.service.InputParser.MINIMAL_INSTRUCTION_ERROR;
+
+/**
+ * Reads a mission file through memory-mapped windows and tokenizes it byte by byte, without creating a {@code String}
+ * per line or token. Accepts exactly the same input as {@link InputParser}, see {@link MissionLineDecoder}.
+ * <p>
+ * Not thread-safe: use one reader per file at a time.
+ */
+public class MappedMissionReader {
+
+    public static final long DEFAULT_WINDOW_SIZE = 1L << 30;
+    public static final String LINE_TOO_LONG_ERROR = "Line longer than %d bytes";
+
+    private final long windowSize;
+    private final MissionLineDecoder decoder;
+
+    private InputParser.MissionListener listener;
+    private InputType inputType;
+    private Grid grid;
+    private AbstractRobot currentRobot;
+    private int lineCount;
+
+    public MappedMissionReader() {
+        this(DEFAULT_WINDOW_SIZE);
+    }
+
+    public MappedMissionReader(final long windowSize) {
+        this(windowSize, new InputParser());
+    }
+
+    /**
+     * @param lineParser provides the commands and limits, and parses the lines the tokenizer does not recognise
+     */
+    public MappedMissionReader(final long windowSize, final InputParser lineParser) {
+        this.windowSize = windowSize;
+        this.decoder = new MissionLineDecoder(lineParser);
+    }
+
+    public void read(final Path path, final InputParser.MissionListener listener) throws IOException {
+        this.listener = listener;
+        this.inputType = InputType.GRID;
+        this.grid = null;
+        this.currentRobot = null;
+        this.lineCount = 0;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                final long length = Math.min(windowSize, size - position);
+                final ByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                final int end = position + length == size ? (int) length : endOfLastLine(window);
+                readLines(window, end);
+                position += end;
+            }
+        }
+        EngineMetrics.get().linesParsed(lineCount);
+
+        if (lineCount < 3) {
+            throw new InvalidInputException(MINIMAL_INSTRUCTION_ERROR);
+        }
+        if (currentRobot != null) {
+            listener.onRobot(currentRobot, new ArrayList<>());
+        }
+        listener.onComplete();
+    }
+
+    private int endOfLastLine(final ByteBuffer window) {
+        for (int i = window.limit() - 1; i >= 0; i--) {
+            if (window.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        throw new InvalidInputException(LINE_TOO_LONG_ERROR.formatted(windowSize));
+    }
+
+    private void readLines(final ByteBuffer window, final int end) {
+        int lineStart = 0;
+        for (int i = 0; i < end; i++) {
+            if (window.get(i) == '\n') {
+                readLine(window, lineStart, i);
+                lineStart = i + 1;
+            }
+        }
+        if (lineStart < end) {
+            readLine(window, lineStart, end);
+        }
+    }
+
+    private void readLine(final ByteBuffer buffer, final int lineStart, final int lineEnd) {
+        final int from = MissionLineDecoder.trimStart(buffer, lineStart, lineEnd);
+        final int to = MissionLineDecoder.trimEnd(buffer, from, lineEnd);
+        if (from == to) {
+            return;
+        }
+
+        lineCount++;
+        switch (inputType) {
+            case GRID -> {
+                grid = decoder.grid(buffer, from, to);
+                listener.onGrid(grid);
+                inputType = InputType.ROBOT;
+            }
+            case ROBOT -> {
+                currentRobot = decoder.robot(buffer, from, to);
+                InputParser.validateRobotOnGrid(grid, currentRobot);
+                inputType = InputType.INSTRUCTION;
+            }
+            case INSTRUCTION -> {
+                listener.onRobot(currentRobot, decoder.instructions(buffer, from, to));
+                currentRobot = null;
+                inputType = InputType.ROBOT;
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.red_badger.service;
+
+import com.red_badger.domain.AbstractRobot;
+import com.red_badger.domain.CommandRegistry;
+import com.red_badger.domain.Grid;
+import com.red_badger.domain.MarsRobot;
+import com.red_badger.enums.Command;
+import com.red_badger.enums.Orientation;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes mission lines straight from bytes, without creating a {@code String} per line or token. Any line it does not
+ * recognise is decoded and handed to {@link InputParser}, which either parses it or reports the same error as it would
+ * for standard input.
+ * <p>
+ * Holds no state of its own, so one decoder can serve many threads.
+ */
+final class MissionLineDecoder {
+
+    private static final int MAX_NUMBER_DIGITS = 9;
+
+    private final InputParser lineParser;
+
+    MissionLineDecoder(final InputParser lineParser) {
+        this.lineParser = lineParser;
+    }
+
+    /**
+     * @return the first byte of the line after leading whitespace, same as {@link String#trim()}
+     */
+    static int trimStart(final ByteBuffer buffer, final int lineStart, final int lineEnd) {
+        int from = lineStart;
+        while (from < lineEnd && (buffer.get(from) & 0xFF) <= ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    /**
+     * @return the end of the line before trailing whitespace, same as {@link String#trim()}
+     */
+    static int trimEnd(final ByteBuffer buffer, final int from, final int lineEnd) {
+        int to = lineEnd;
+        while (to > from && (buffer.get(to - 1) & 0xFF) <= ' ') {
+            to--;
+        }
+        return to;
+    }
+
+    Grid grid(final ByteBuffer buffer, final int from, final int to) {
+        final int separator = indexOfSpace(buffer, from, to);
+        if (separator > 0) {
+            final int x = readNumber(buffer, from, separator);
+            final int y = readNumber(buffer, separator + 1, to);
+            if (isInRange(x) && isInRange(y)) {
+                return Grid.createGrid(x, y, lineParser.getLimits().maxGridValue());
+            }
+        }
+        return lineParser.parseGridLine(decode(buffer, from, to));
+    }
+
+    AbstractRobot robot(final ByteBuffer buffer, final int from, final int to) {
+        final int firstSeparator = indexOfSpace(buffer, from, to);
+        if (firstSeparator > 0 && to - firstSeparator > 2 && buffer.get(to - 2) == ' ') {
+            final int x = readNumber(buffer, from, firstSeparator);
+            final int y = readNumber(buffer, firstSeparator + 1, to - 2);
+            final Orientation orientation = Orientation.fromSymbol(buffer.get(to - 1));
+            if (isInRange(x) && isInRange(y) && orientation != null) {
+                return new MarsRobot(x, y, orientation);
+            }
+        }
+        return lineParser.parseRobotLine(decode(buffer, from, to));
+    }
+
+    List<Command> instructions(final ByteBuffer buffer, final int from, final int to) {
+        if (to - from <= lineParser.getLimits().maxInstructionSize()) {
+            final CommandRegistry commandRegistry = lineParser.getCommandRegistry();
+            final List<Command> commands = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                final Command command = commandRegistry.lookup(buffer.get(i));
+                if (command == null) {
+                    break;
+                }
+                commands.add(command);
+            }
+            if (commands.size() == to - from) {
+                return commands;
+            }
+        }
+        return lineParser.parseInstructionLine(decode(buffer, from, to));
+    }
+
+    /**
+     * @return the number, or -1 if the bytes are not a plain decimal number
+     */
+    private static int readNumber(final ByteBuffer buffer, final int from, final int to) {
+        if (from == to || to - from > MAX_NUMBER_DIGITS) {
+            return -1;
+        }
+        int number = 0;
+        for (int i = from; i < to; i++) {
+            final int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            number = number * 10 + digit;
+        }
+        return number;
+    }
+
+    private boolean isInRange(final int value) {
+        return value >= Grid.MIN_VALUE && value <= lineParser.getLimits().maxGridValue();
+    }
+
+    private static int indexOfSpace(final ByteBuffer buffer, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == ' ') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String decode(final ByteBuffer buffer, final int from, final int to) {
+        final byte[] bytes = new byte[to - from];
+        buffer.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,189 @@
+package com.red_badger.service;
+
+import com.red_badger.domain.AbstractRobot;
+import com.red_badger.domain.Grid;
+import com.red_badger.domain.SimulationResult;
+import com.red_badger.enums.Command;
+import com.red_badger.enums.CommandResult;
+import com.red_badger.enums.Orientation;
+import lombok.RequiredArgsConstructor;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Runs a mission as three stages connected by bounded queues: a reader thread parsing the input, a
+ * simulator thread moving the robots and the calling thread writing the results. The first result is
+ * written as soon as the first robot has been simulated and memory stays bounded by the queue capacity,
+ * however long the input is. Results cross the queue unformatted, so a {@link ResultWriter} formats them
+ * without building a string per robot.
+ * <p>
+ * Should a stage or the output fail, the other stages are interrupted and the failure is rethrown without waiting for
+ * the reader, which may be blocked reading an input that ignores interrupts, such as {@code System.in}. It is a daemon
+ * thread, so it does not keep the JVM alive.
+ */
+@RequiredArgsConstructor
+public class MissionPipeline {
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private static final Consumer<InputParser.MissionListener> END_OF_INPUT = listener -> {
+    };
+    private static final SimulationResult END_OF_OUTPUT = new SimulationResult(0, 0, Orientation.N, CommandResult.EXECUTED);
+
+    private final int queueCapacity;
+
+    public MissionPipeline() {
+        this(DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public void run(final InputStream input, final Consumer<String> output) {
+        run(input, result -> output.accept(result.format()), () -> {
+        });
+    }
+
+    /**
+     * Writes the results through the writer, flushing it whenever it has caught up with the simulator, so that results
+     * are still written as soon as they are known while bursts of them are written in chunks. The writer is flushed
+     * before a failure is rethrown.
+     */
+    public void run(final InputStream input, final ResultWriter resultWriter) {
+        try {
+            run(input, resultWriter::write, resultWriter::flush);
+        } finally {
+            resultWriter.flush();
+        }
+    }
+
+    private void run(final InputStream input, final Consumer<SimulationResult> output, final Runnable caughtUp) {
+        final BlockingQueue<Consumer<InputParser.MissionListener>> missionEvents = new ArrayBlockingQueue<>(queueCapacity);
+        final BlockingQueue<SimulationResult> results = new ArrayBlockingQueue<>(queueCapacity);
+        final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        final Thread reader = startStage("mission-reader", failure, () -> {
+            try {
+                new InputParser().parseInput(input, new QueueingListener(missionEvents));
+            } finally {
+                signal(missionEvents, END_OF_INPUT);
+            }
+        });
+        final Thread simulator = startStage("mission-simulator", failure, () -> {
+            try {
+                final var missionRunner = MissionRunner.forResults(result -> put(results, result));
+                Consumer<InputParser.MissionListener> event;
+                while ((event = take(missionEvents)) != END_OF_INPUT) {
+                    event.accept(missionRunner);
+                }
+            } finally {
+                signal(results, END_OF_OUTPUT);
+            }
+        });
+
+        boolean completed = false;
+        try {
+            SimulationResult result;
+            while ((result = next(results, caughtUp)) != END_OF_OUTPUT) {
+                output.accept(result);
+            }
+            completed = true;
+        } finally {
+            if (completed && failure.get() == null) {
+                join(reader);
+            } else {
+                reader.interrupt();
+                simulator.interrupt();
+            }
+            join(simulator);
+        }
+
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    private static Thread startStage(final String name, final AtomicReference<RuntimeException> failure, final Runnable stage) {
+        final Thread thread = new Thread(() -> {
+            try {
+                stage.run();
+            } catch (final RuntimeException e) {
+                failure.compareAndSet(null, e);
+            }
+        }, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static <T> void put(final BlockingQueue<T> queue, final T element) {
+        try {
+            queue.put(element);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Mission pipeline interrupted", e);
+        }
+    }
+
+    /**
+     * Puts the end marker of a stage, unless the pipeline is being torn down, so that it does not hide the failure that
+     * ended the stage.
+     */
+    private static <T> void signal(final BlockingQueue<T> queue, final T element) {
+        try {
+            queue.put(element);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static <T> T next(final BlockingQueue<T> queue, final Runnable caughtUp) {
+        final T element = queue.poll();
+        if (element != null) {
+            return element;
+        }
+        caughtUp.run();
+        return take(queue);
+    }
+
+    private static <T> T take(final BlockingQueue<T> queue) {
+        try {
+            return queue.take();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Mission pipeline interrupted", e);
+        }
+    }
+
+    private static void join(final Thread thread) {
+        try {
+            thread.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Mission pipeline interrupted", e);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class QueueingListener implements InputParser.MissionListener {
+
+        private final BlockingQueue<Consumer<InputParser.MissionListener>> missionEvents;
+
+        @Override
+        public void onGrid(final Grid grid) {
+            put(missionEvents, listener -> listener.onGrid(grid));
+        }
+
+        @Override
+        public void onRobot(final AbstractRobot robot, final List<Command> commands) {
+            put(missionEvents, listener -> listener.onRobot(robot, commands));
+        }
+
+        @Override
+        public void onComplete() {
+            put(missionEvents, InputParser.MissionListener::onComplete);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.red_badger.service;
+
+import com.red_badger.domain.AbstractRobot;
+import com.red_badger.domain.Grid;
+import com.red_badger.domain.SimulationResult;
+import com.red_badger.enums.Command;
+import com.red_badger.metrics.EngineMetrics;
+import com.red_badger.trace.PathTracer;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Simulates every robot as soon as the parser hands it over and passes the result on, so a mission is
+ * processed in a single pass without holding the parsed robots in memory.
+ */
+public class MissionRunner implements InputParser.MissionListener {
+
+    private final Consumer<SimulationResult> results;
+    private final PathTracer tracer;
+    private InputProcessor inputProcessor;
+    private int robotCount;
+    private boolean recordingLatency;
+    private long missionStart;
+    private long simulateNanos;
+    private long writeNanos;
+
+    public MissionRunner(final Consumer<String> output) {
+        this(result -> output.accept(result.format()), (PathTracer) null);
+    }
+
+    /**
+     * Writes the results without formatting them into strings first.
+     */
+    public MissionRunner(final ResultWriter resultWriter) {
+        this(resultWriter, null);
+    }
+
+    /**
+     * Also records the path of the robots the tracer selects, numbering robots from 1 in every mission.
+     *
+     * @param tracer the tracer, or {@code null} not to trace
+     */
+    public MissionRunner(final ResultWriter resultWriter, final PathTracer tracer) {
+        this(resultWriter::write, tracer);
+    }
+
+    private MissionRunner(final Consumer<SimulationResult> results, final PathTracer tracer) {
+        this.results = results;
+        this.tracer = tracer;
+    }
+
+    /**
+     * Passes the results on unformatted, e.g. to hand them to another thread.
+     */
+    public static MissionRunner forResults(final Consumer<SimulationResult> results) {
+        return new MissionRunner(results, null);
+    }
+
+    @Override
+    public void onGrid(final Grid grid) {
+        inputProcessor = new InputProcessor(grid);
+        recordingLatency = EngineMetrics.get().isRecordingLatency();
+        missionStart = System.nanoTime();
+        simulateNanos = 0;
+        writeNanos = 0;
+        robotCount = 0;
+    }
+
+    @Override
+    public void onRobot(final AbstractRobot robot, final List<Command> commands) {
+        final int robotId = ++robotCount;
+        if (!recordingLatency) {
+            results.accept(simulate(robotId, robot, commands));
+            return;
+        }
+        final long start = System.nanoTime();
+        final SimulationResult result = simulate(robotId, robot, commands);
+        final long simulated = System.nanoTime();
+        simulateNanos += simulated - start;
+        results.accept(result);
+        writeNanos += System.nanoTime() - simulated;
+    }
+
+    private SimulationResult simulate(final int robotId, final AbstractRobot robot, final List<Command> commands) {
+        if (tracer != null && tracer.isTraced(robotId)) {
+            return inputProcessor.simulate(robot, commands, tracer, robotId);
+        }
+        return inputProcessor.simulate(robot, commands);
+    }
+
+    @Override
+    public void onComplete() {
+        EngineMetrics.get().missionCompleted();
+        if (recordingLatency) {
+            EngineMetrics.get().recordLatency(System.nanoTime() - missionStart - simulateNanos - writeNanos, simulateNanos,
+                    writeNanos);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.red_badger.service;
+
+import com.red_badger.domain.Grid;
+import com.red_badger.domain.MissionLimits;
+import com.red_badger.exception.InvalidInputException;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves missions over TCP on the loopback interface, so that many missions share one warmed-up JVM.
+ * <p>
+ * Every connection is one session: the client sends a mission in the same format as standard input and closes its
+ * side of the connection, and the results are written back on the same connection. Results are buffered and sent
+ * {@value #SESSION_BUFFER_SIZE} bytes at a time, or whenever the session has read everything the client sent so far,
+ * so that a client may wait for the result of a robot before sending the next one. An invalid mission is answered
+ * with the error message after the results of the robots before it. Every session has its own grid, unless the server
+ * was given a shared grid: then every session runs on it and sees the scent of all the others.
+ * <p>
+ * A session ends with an error if the client sends nothing for {@value #DEFAULT_SESSION_TIMEOUT_MILLIS} ms, or a line
+ * longer than an instruction line may be, so that neither an idle nor an endless client can hold on to a session.
+ * <p>
+ * Sessions run on virtual threads when the JVM provides them (Java 21 and later), and on a cached pool of platform
+ * threads otherwise.
+ */
+public class MissionServer implements Runnable, Closeable {
+
+    public static final int DEFAULT_PORT = 7878;
+    public static final int SESSION_BUFFER_SIZE = 1 << 13;
+    public static final int DEFAULT_SESSION_TIMEOUT_MILLIS = 30_000;
+    public static final int CLOSE_TIMEOUT_SECONDS = 5;
+    /**
+     * Room for the whitespace around the longest instruction line a mission may have.
+     */
+    public static final int LINE_PADDING = 1 << 10;
+    public static final String UNEXPECTED_ERROR = "Something went wrong. Please try again.";
+    public static final String SESSION_TIMEOUT_ERROR = "No input received for %d ms, closing the session";
+    public static final String LINE_LENGTH_ERROR = "Line is longer than %d characters, closing the session";
+    public static final String SHARED_GRID_PROPERTY = "martian.serve.shared-grid";
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions = newSessionExecutor();
+    private final Grid sharedGrid;
+    private final int sessionTimeoutMillis;
+    private final int maxLineLength;
+
+    /**
+     * @param port the port to listen on, or 0 to pick a free one
+     */
+    public MissionServer(final int port) throws IOException {
+        this(port, null);
+    }
+
+    /**
+     * @param port       the port to listen on, or 0 to pick a free one
+     * @param sharedGrid the grid every session runs on, see {@link Grid#createConcurrentGrid(int, int, int)}, or
+     *                   {@code null} to give every session its own
+     */
+    public MissionServer(final int port, final Grid sharedGrid) throws IOException {
+        this(port, sharedGrid, DEFAULT_SESSION_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * @param port                 the port to listen on, or 0 to pick a free one
+     * @param sharedGrid           the grid every session runs on, or {@code null} to give every session its own
+     * @param sessionTimeoutMillis how long a session waits for input before it ends with an error
+     */
+    public MissionServer(final int port, final Grid sharedGrid, final int sessionTimeoutMillis) throws IOException {
+        this.serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+        this.sharedGrid = sharedGrid;
+        this.sessionTimeoutMillis = sessionTimeoutMillis;
+        this.maxLineLength = (int) Math.min(Integer.MAX_VALUE,
+                (long) MissionLimits.fromSystemProperties().maxInstructionSize() + LINE_PADDING);
+    }
+
+    /**
+     * @return a server whose sessions share the grid given by the {@value #SHARED_GRID_PROPERTY} system property, in
+     * the format of a grid line, e.g. {@code 50 50}; every session gets its own grid if it is not set
+     */
+    public static MissionServer fromSystemProperties(final int port) throws IOException {
+        final String gridLine = System.getProperty(SHARED_GRID_PROPERTY);
+        if (gridLine == null) {
+            return new MissionServer(port);
+        }
+        final var parser = new InputParser();
+        final Grid bounds = parser.parseGridLine(gridLine.trim());
+        return new MissionServer(port, Grid.createConcurrentGrid(bounds.getUpperRightX(), bounds.getUpperRightY(),
+                parser.getLimits().maxGridValue()));
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Accepts connections until the server is closed. A connection that fails to be accepted is reported on standard
+     * error and does not stop the server.
+     */
+    @Override
+    public void run() {
+        while (!serverSocket.isClosed()) {
+            try {
+                final Socket socket = serverSocket.accept();
+                sessions.execute(() -> serve(socket));
+            } catch (final SocketException e) {
+                // the server socket was closed, or the connection was reset before it was accepted
+            } catch (final IOException | RuntimeException e) {
+                System.err.println("Error accepting connection: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stops accepting connections and interrupts the running sessions, waiting up to {@value #CLOSE_TIMEOUT_SECONDS}
+     * seconds for them to end.
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        sessions.shutdownNow();
+        try {
+            if (!sessions.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                System.err.println("Sessions still running after " + CLOSE_TIMEOUT_SECONDS + " seconds");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void serve(final Socket socket) {
+        try (socket) {
+            socket.setSoTimeout(sessionTimeoutMillis);
+            final var resultWriter = new ResultWriter(socket.getOutputStream(), SESSION_BUFFER_SIZE);
+            final InputParser.MissionListener runner = new MissionRunner(resultWriter);
+            try {
+                new InputParser().parseInput(new SessionInput(socket.getInputStream(), maxLineLength, resultWriter::flush),
+                        sharedGrid == null ? runner : new SharedGridListener(sharedGrid, runner));
+            } catch (final InvalidInputException e) {
+                resultWriter.write(e.getMessage());
+            } catch (final RuntimeException e) {
+                resultWriter.write(errorMessage(e));
+            } finally {
+                resultWriter.flush();
+            }
+        } catch (final IOException | RuntimeException e) {
+            // the client went away; nothing left to report to
+        }
+    }
+
+    private String errorMessage(final RuntimeException e) {
+        if (e.getCause() instanceof SocketTimeoutException) {
+            return new InvalidInputException(SESSION_TIMEOUT_ERROR.formatted(sessionTimeoutMillis)).getMessage();
+        }
+        if (e.getCause() instanceof LineTooLongException) {
+            return new InvalidInputException(LINE_LENGTH_ERROR.formatted(maxLineLength)).getMessage();
+        }
+        return UNEXPECTED_ERROR;
+    }
+
+    private static ExecutorService newSessionExecutor() {
+        try {
+            final var newVirtualThreadPerTaskExecutor = MethodHandles.publicLookup()
+                    .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+            return (ExecutorService) newVirtualThreadPerTaskExecutor.invoke();
+        } catch (final Throwable e) {
+            final var sessionCount = new AtomicInteger();
+            return Executors.newCachedThreadPool(task -> {
+                final var thread = new Thread(task, "mission-session-" + sessionCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Fails the read that takes a line past the maximum length, so that a client cannot make the parser buffer an
+     * endless line.
+     * <p>
+     * Sends the results so far before a read that would wait for the client, as the client may be waiting for them.
+     * <p>
+     * Closing the socket's input stream would close the socket before the results are written, so closing this stream
+     * does nothing; the session closes the socket once it is done.
+     */
+    private static final class SessionInput extends FilterInputStream {
+
+        private final int maxLineLength;
+        private final Runnable caughtUp;
+        private int lineLength;
+
+        private SessionInput(final InputStream input, final int maxLineLength, final Runnable caughtUp) {
+            super(input);
+            this.maxLineLength = maxLineLength;
+            this.caughtUp = caughtUp;
+        }
+
+        @Override
+        public int read() throws IOException {
+            awaitingClient();
+            final int b = super.read();
+            if (b != -1) {
+                count((byte) b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+            awaitingClient();
+            final int read = super.read(bytes, offset, length);
+            for (int i = offset; i < offset + read; i++) {
+                count(bytes[i]);
+            }
+            return read;
+        }
+
+        private void awaitingClient() throws IOException {
+            if (in.available() == 0) {
+                caughtUp.run();
+            }
+        }
+
+        private void count(final byte b) throws LineTooLongException {
+            lineLength = b == '\n' ? 0 : lineLength + 1;
+            if (lineLength > maxLineLength) {
+                throw new LineTooLongException();
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class LineTooLongException extends IOException {
+    }
+}
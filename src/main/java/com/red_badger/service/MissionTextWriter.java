@@ -0,0 +1,80 @@
+package com.red_badger.service;
+
+import com.red_badger.domain.AbstractRobot;
+import com.red_badger.domain.Grid;
+import com.red_badger.enums.Command;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes a mission in the text format read by {@link InputParser}, e.g. to convert a binary mission back:
+ * {@code new BinaryMissionReader().read(binary, new MissionTextWriter(text))}. Not thread-safe.
+ */
+public class MissionTextWriter implements InputParser.MissionListener, Flushable, Closeable {
+
+    private final Writer writer;
+
+    public MissionTextWriter(final OutputStream output) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.US_ASCII), 1 << 16);
+    }
+
+    @Override
+    public void onGrid(final Grid grid) {
+        writeLine(grid.getUpperRightX() + " " + grid.getUpperRightY());
+    }
+
+    @Override
+    public void onRobot(final AbstractRobot robot, final List<Command> commands) {
+        try {
+            writer.write(robot.getXCord() + " " + robot.getYCord() + " " + robot.getOrientation().getOrientation());
+            writer.write('\n');
+            for (Command command : commands) {
+                writer.write(command.getCommand());
+            }
+            writer.write('\n');
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        flush();
+    }
+
+    @Override
+    public void flush() {
+        try {
+            writer.flush();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            writer.close();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeLine(final String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
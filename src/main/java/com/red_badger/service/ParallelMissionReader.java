@@ -0,0 +1,299 @@
+package com.red_badger.service;
+
+import com.red_badger.domain.AbstractRobot;
+import com.red_badger.domain.Grid;
+import com.red_badger.enums.Command;
+import com.red_badger.exception.InvalidInputException;
+import com.red_badger.metrics.EngineMetrics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import static com.red_badger.service.InputParser.MINIMAL_INSTRUCTION_ERROR;
+
+/**
+ * Validates and decodes a mission file on a {@link ForkJoinPool}, while the listener receives the robots in input
+ * order on the calling thread. Produces the same calls on the listener and the same errors as
+ * {@link MappedMissionReader}.
+ * <ol>
+ *     <li>The file is cut into chunks of about {@code chunkSize} bytes at line boundaries, and the non-blank lines of
+ *     every chunk are counted in parallel.</li>
+ *     <li>From the counts, every chunk start is moved to the next robot line, so chunks hold whole robot records.</li>
+ *     <li>Chunks are decoded in parallel, at most a few per worker ahead of the listener, and handed to the listener
+ *     in order. A chunk stops at its first invalid line; the robots before it are passed on and its error is thrown
+ *     once the listener has reached it, just as in a single pass.</li>
+ * </ol>
+ */
+public class ParallelMissionReader {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+    /**
+     * Files smaller than this are read faster in a single pass.
+     */
+    public static final long PARALLEL_THRESHOLD = 64L << 20;
+
+    private static final int SCAN_BUFFER_SIZE = 1 << 12;
+
+    private final int chunkSize;
+    private final MissionLineDecoder decoder;
+    private final ForkJoinPool pool;
+
+    public ParallelMissionReader() {
+        this(DEFAULT_CHUNK_SIZE, new InputParser(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param lineParser provides the commands and limits, and parses the lines the tokenizer does not recognise
+     */
+    public ParallelMissionReader(final int chunkSize, final InputParser lineParser, final ForkJoinPool pool) {
+        this.chunkSize = chunkSize;
+        this.decoder = new MissionLineDecoder(lineParser);
+        this.pool = pool;
+    }
+
+    /**
+     * Decoded robots of one chunk, up to its first invalid line.
+     */
+    private record Chunk(List<AbstractRobot> robots, List<List<Command>> commands, AbstractRobot robotWithoutCommands,
+                         RuntimeException error) {
+    }
+
+    public void read(final Path path, final InputParser.MissionListener listener) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final long[] starts = chunkStarts(channel, size);
+            final long[] linesBefore = countLines(channel, starts);
+            final long lineCount = linesBefore[linesBefore.length - 1];
+            if (lineCount == 0) {
+                throw new InvalidInputException(MINIMAL_INSTRUCTION_ERROR);
+            }
+            alignToRobotRecords(channel, starts, linesBefore);
+
+            final Grid grid = readGrid(channel, starts[0]);
+            listener.onGrid(grid);
+            final AbstractRobot robotWithoutCommands = decodeInOrder(channel, starts, grid, listener);
+
+            EngineMetrics.get().linesParsed((int) Math.min(lineCount, Integer.MAX_VALUE));
+            if (lineCount < 3) {
+                throw new InvalidInputException(MINIMAL_INSTRUCTION_ERROR);
+            }
+            if (robotWithoutCommands != null) {
+                listener.onRobot(robotWithoutCommands, new ArrayList<>());
+            }
+            listener.onComplete();
+        }
+    }
+
+    /**
+     * @return the start of every chunk at a line boundary, followed by the file size
+     */
+    private long[] chunkStarts(final FileChannel channel, final long size) throws IOException {
+        final List<Long> starts = new ArrayList<>();
+        starts.add(0L);
+        for (long offset = chunkSize; offset < size; offset += chunkSize) {
+            final long start = afterNewline(channel, offset - 1, size);
+            // a line longer than a chunk leaves no line start in the chunks it spans
+            if (start > starts.get(starts.size() - 1) && start < size) {
+                starts.add(start);
+            }
+        }
+        starts.add(size);
+        return starts.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Counts the non-blank lines of every chunk in parallel.
+     *
+     * @return the number of non-blank lines before every chunk, followed by the number in the file
+     */
+    private long[] countLines(final FileChannel channel, final long[] starts) throws IOException {
+        final List<ForkJoinTask<Integer>> counts = new ArrayList<>(starts.length - 1);
+        for (int chunk = 0; chunk < starts.length - 1; chunk++) {
+            final ByteBuffer buffer = map(channel, starts[chunk], starts[chunk + 1]);
+            counts.add(pool.submit(() -> countNonBlankLines(buffer)));
+        }
+        final long[] linesBefore = new long[starts.length];
+        for (int chunk = 0; chunk < counts.size(); chunk++) {
+            linesBefore[chunk + 1] = linesBefore[chunk] + join(counts.get(chunk));
+        }
+        return linesBefore;
+    }
+
+    /**
+     * The grid is line 0 and robot records start on odd lines, so a chunk that starts at an even line gives its first
+     * non-blank line, the grid or an instruction line, to the chunk before it. The grid line then ends where the first
+     * chunk starts.
+     */
+    private static void alignToRobotRecords(final FileChannel channel, final long[] starts, final long[] linesBefore)
+            throws IOException {
+        final long size = starts[starts.length - 1];
+        for (int chunk = 0; chunk < starts.length - 1; chunk++) {
+            if (linesBefore[chunk] % 2 == 0) {
+                starts[chunk] = afterNonBlankLine(channel, starts[chunk], size);
+            }
+        }
+    }
+
+    private Grid readGrid(final FileChannel channel, final long gridLineEnd) throws IOException {
+        final ByteBuffer buffer = map(channel, 0, gridLineEnd);
+        int lineStart = 0;
+        for (int i = 0; i < buffer.limit(); i++) {
+            if (buffer.get(i) == '\n' && i + 1 < buffer.limit()) {
+                lineStart = i + 1;
+            }
+        }
+        final int from = MissionLineDecoder.trimStart(buffer, lineStart, buffer.limit());
+        return decoder.grid(buffer, from, MissionLineDecoder.trimEnd(buffer, from, buffer.limit()));
+    }
+
+    /**
+     * @return the robot the file ends with, if its instruction line is missing
+     */
+    private AbstractRobot decodeInOrder(final FileChannel channel, final long[] starts, final Grid grid,
+                                        final InputParser.MissionListener listener) throws IOException {
+        final int window = Math.max(2, 2 * pool.getParallelism());
+        final ArrayDeque<ForkJoinTask<Chunk>> pending = new ArrayDeque<>(window);
+        int next = 0;
+        AbstractRobot robotWithoutCommands = null;
+        try {
+            for (int chunk = 0; chunk < starts.length - 1; chunk++) {
+                while (next < starts.length - 1 && pending.size() < window) {
+                    pending.add(submitChunk(channel, starts[next], Math.max(starts[next], starts[next + 1]), grid));
+                    next++;
+                }
+                final Chunk decoded = join(pending.poll());
+                for (int robot = 0; robot < decoded.robots().size(); robot++) {
+                    listener.onRobot(decoded.robots().get(robot), decoded.commands().get(robot));
+                }
+                if (decoded.error() != null) {
+                    throw decoded.error();
+                }
+                robotWithoutCommands = decoded.robotWithoutCommands();
+            }
+        } finally {
+            pending.forEach(task -> task.cancel(true));
+        }
+        return robotWithoutCommands;
+    }
+
+    private ForkJoinTask<Chunk> submitChunk(final FileChannel channel, final long start, final long end, final Grid grid) throws IOException {
+        final ByteBuffer buffer = map(channel, start, end);
+        return pool.submit(() -> decodeChunk(buffer, grid));
+    }
+
+    private Chunk decodeChunk(final ByteBuffer buffer, final Grid grid) {
+        final List<AbstractRobot> robots = new ArrayList<>();
+        final List<List<Command>> commands = new ArrayList<>();
+        AbstractRobot robot = null;
+        int lineStart = 0;
+        try {
+            for (int i = 0; i <= buffer.limit(); i++) {
+                if (i < buffer.limit() && buffer.get(i) != '\n') {
+                    continue;
+                }
+                final int from = MissionLineDecoder.trimStart(buffer, lineStart, i);
+                final int to = MissionLineDecoder.trimEnd(buffer, from, i);
+                lineStart = i + 1;
+                if (from == to) {
+                    continue;
+                }
+                if (robot == null) {
+                    robot = decoder.robot(buffer, from, to);
+                    InputParser.validateRobotOnGrid(grid, robot);
+                } else {
+                    commands.add(decoder.instructions(buffer, from, to));
+                    robots.add(robot);
+                    robot = null;
+                }
+            }
+        } catch (final RuntimeException e) {
+            return new Chunk(robots, commands, null, e);
+        }
+        return new Chunk(robots, commands, robot, null);
+    }
+
+    private static int countNonBlankLines(final ByteBuffer buffer) {
+        int lines = 0;
+        boolean blank = true;
+        for (int i = 0; i < buffer.limit(); i++) {
+            final int b = buffer.get(i) & 0xFF;
+            if (b == '\n') {
+                lines += blank ? 0 : 1;
+                blank = true;
+            } else if (b > ' ') {
+                blank = false;
+            }
+        }
+        return blank ? lines : lines + 1;
+    }
+
+    /**
+     * @return the offset after the first {@code '\n'} at or after {@code offset}, or the file size if there is none
+     */
+    private static long afterNewline(final FileChannel channel, final long offset, final long size) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long position = offset;
+        while (position < size) {
+            buffer.clear();
+            final int read = channel.read(buffer, position);
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * @return the offset after the end of the first non-blank line at or after {@code offset}, a line start
+     */
+    private static long afterNonBlankLine(final FileChannel channel, final long offset, final long size) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        boolean blank = true;
+        long position = offset;
+        while (position < size) {
+            buffer.clear();
+            final int read = channel.read(buffer, position);
+            for (int i = 0; i < read; i++) {
+                final int b = buffer.get(i) & 0xFF;
+                if (b == '\n' && !blank) {
+                    return position + i + 1;
+                }
+                if (b > ' ') {
+                    blank = false;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static ByteBuffer map(final FileChannel channel, final long start, final long end) throws IOException {
+        if (end - start > Integer.MAX_VALUE) {
+            throw new InvalidInputException(MappedMissionReader.LINE_TOO_LONG_ERROR.formatted(Integer.MAX_VALUE));
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+    }
+
+    private static <T> T join(final ForkJoinTask<T> task) {
+        try {
+            return task.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading the mission", e);
+        } catch (final ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.red_badger.service;
+
+import com.red_badger.domain.AbstractRobot;
+import com.red_badger.domain.CompiledProgram;
+import com.red_badger.domain.Grid;
+import com.red_badger.domain.SimulationResult;
+import com.red_badger.enums.Command;
+import com.red_badger.enums.CommandResult;
+import com.red_badger.metrics.EngineMetrics;
+import com.red_badger.metrics.MotionTally;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Simulates robots speculatively in parallel and produces the same output as {@link MissionRunner}.
+ * <p>
+ * Robots are collected into batches. The robots of a batch are split into chunks that run in parallel, each chunk
+ * sequentially against its own copy of the grid as it was before the batch. The results are then committed in input
+ * order against the real grid.
+ * <p>
+ * Scent is only ever added, and only on a cell whose next step in the scented direction of travel leaves the grid. The
+ * only unscented position a robot can depend on is therefore the one it was lost from: every other scent check it made
+ * either found scent, which stays, or was not for a step off the grid. A speculative result is valid unless the robot
+ * was lost from a position an earlier robot has scented in the meantime; only those robots are simulated again, in
+ * order, against the real grid.
+ * <p>
+ * A committed robot is looked up and scented by its final orientation, which is its direction of travel only if it
+ * was lost moving forward. Batches with a command that moves backward are simulated in order without speculation.
+ * <p>
+ * Speculative simulations count their moves into a tally of their own, which is only added to the
+ * {@link EngineMetrics} when the result is committed, so robots simulated again are counted once.
+ * <p>
+ * A parked robot can block any robot after it, so when {@link InputProcessor#isParkingRobots() robots are parked}
+ * they are simulated in order without speculation.
+ */
+public class ParallelMissionRunner implements InputParser.MissionListener {
+
+    public static final int DEFAULT_BATCH_SIZE = 65_536;
+    public static final int DEFAULT_CHUNK_SIZE = 1_024;
+
+    private final Consumer<SimulationResult> results;
+    /**
+     * Run after the results of every batch have been passed on.
+     */
+    private final Runnable batchWritten;
+    private final int batchSize;
+    private final int chunkSize;
+    private final List<AbstractRobot> robots;
+    private final List<List<Command>> programs;
+
+    private boolean batchMovesBackward;
+    private Grid grid;
+    private InputProcessor inputProcessor;
+    private boolean recordingLatency;
+    private long missionStart;
+    private long simulateNanos;
+    private long writeNanos;
+
+    public ParallelMissionRunner(final Consumer<String> output) {
+        this(output, DEFAULT_BATCH_SIZE, DEFAULT_CHUNK_SIZE);
+    }
+
+    public ParallelMissionRunner(final Consumer<String> output, final int batchSize, final int chunkSize) {
+        this(result -> output.accept(result.format()), () -> {
+        }, batchSize, chunkSize);
+    }
+
+    /**
+     * Writes the results without formatting them into strings first, flushing the writer after every batch.
+     */
+    public ParallelMissionRunner(final ResultWriter resultWriter) {
+        this(resultWriter::write, resultWriter::flush, DEFAULT_BATCH_SIZE, DEFAULT_CHUNK_SIZE);
+    }
+
+    private ParallelMissionRunner(final Consumer<SimulationResult> results, final Runnable batchWritten,
+                                  final int batchSize, final int chunkSize) {
+        this.results = results;
+        this.batchWritten = batchWritten;
+        this.batchSize = batchSize;
+        this.chunkSize = chunkSize;
+        this.robots = new ArrayList<>(batchSize);
+        this.programs = new ArrayList<>(batchSize);
+    }
+
+    @Override
+    public void onGrid(final Grid grid) {
+        this.grid = grid;
+        this.inputProcessor = new InputProcessor(grid);
+        this.recordingLatency = EngineMetrics.get().isRecordingLatency();
+        this.missionStart = System.nanoTime();
+        this.simulateNanos = 0;
+        this.writeNanos = 0;
+    }
+
+    @Override
+    public void onRobot(final AbstractRobot robot, final List<Command> commands) {
+        robots.add(robot);
+        programs.add(commands);
+        for (int i = 0; i < commands.size() && !batchMovesBackward; i++) {
+            batchMovesBackward = commands.get(i).getDirectionMultiplier() < 0;
+        }
+        if (robots.size() == batchSize) {
+            processBatch();
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        processBatch();
+        EngineMetrics.get().missionCompleted();
+        if (recordingLatency) {
+            EngineMetrics.get().recordLatency(System.nanoTime() - missionStart - simulateNanos - writeNanos, simulateNanos,
+                    writeNanos);
+        }
+    }
+
+    /**
+     * Results are written as they are committed, so the time spent writing them is taken out of the batch's simulation
+     * time.
+     */
+    private void processBatch() {
+        final long start = System.nanoTime();
+        final long writtenBefore = writeNanos;
+        final long simulated;
+        try {
+            simulateBatch();
+        } finally {
+            simulated = System.nanoTime();
+            simulateNanos += simulated - start - (writeNanos - writtenBefore);
+        }
+        batchWritten.run();
+        writeNanos += System.nanoTime() - simulated;
+    }
+
+    private void write(final SimulationResult result) {
+        if (!recordingLatency) {
+            results.accept(result);
+            return;
+        }
+        final long start = System.nanoTime();
+        results.accept(result);
+        writeNanos += System.nanoTime() - start;
+    }
+
+    private void simulateBatch() {
+        if (inputProcessor.isParkingRobots() || batchMovesBackward) {
+            for (int i = 0; i < robots.size(); i++) {
+                write(inputProcessor.simulate(robots.get(i), programs.get(i)));
+            }
+            clearBatch();
+            return;
+        }
+
+        final int size = robots.size();
+        final AbstractRobot[] speculativeRobots = new AbstractRobot[size];
+        final CommandResult[] speculativeResults = new CommandResult[size];
+        final MotionTally[] speculativeMotion = new MotionTally[size];
+
+        IntStream.range(0, (size + chunkSize - 1) / chunkSize).parallel().forEach(chunk -> {
+            final Grid chunkGrid = grid.copy();
+            final int end = Math.min(size, (chunk + 1) * chunkSize);
+            for (int i = chunk * chunkSize; i < end; i++) {
+                final AbstractRobot speculativeRobot = robots.get(i).copy();
+                final var motion = new MotionTally();
+                speculativeResults[i] = speculativeRobot.executeProgram(chunkGrid, CompiledProgram.compile(programs.get(i)), motion);
+                speculativeRobots[i] = speculativeRobot;
+                speculativeMotion[i] = motion;
+            }
+        });
+
+        for (int i = 0; i < size; i++) {
+            write(commit(i, speculativeRobots[i], speculativeResults[i], speculativeMotion[i]));
+        }
+        clearBatch();
+    }
+
+    private void clearBatch() {
+        robots.clear();
+        programs.clear();
+        batchMovesBackward = false;
+    }
+
+    private SimulationResult commit(final int index, final AbstractRobot speculativeRobot, final CommandResult speculativeResult,
+                          final MotionTally speculativeMotion) {
+        if (speculativeResult == CommandResult.LOST) {
+            final int xCord = speculativeRobot.getXCord();
+            final int yCord = speculativeRobot.getYCord();
+            if (grid.hasPositionBeenScented(xCord, yCord, speculativeRobot.getOrientation())) {
+                return inputProcessor.simulate(robots.get(index), programs.get(index));
+            }
+            grid.scentPosition(xCord, yCord, speculativeRobot.getOrientation());
+        }
+        speculativeMotion.flushTo(EngineMetrics.get());
+        EngineMetrics.get().robotProcessed(speculativeResult == CommandResult.LOST);
+        return SimulationResult.of(speculativeRobot, speculativeResult);
+    }
+}
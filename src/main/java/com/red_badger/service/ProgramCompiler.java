@@ -0,0 +1,39 @@
+package com.red_badger.service;
+
+import com.red_badger.domain.CompiledProgram;
+import com.red_badger.enums.Command;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles robot instructions, remembering the most recently used programs since missions repeat the same
+ * instructions heavily. Not thread-safe.
+ */
+public class ProgramCompiler {
+
+    public static final int DEFAULT_CACHE_SIZE = 4_096;
+
+    private final Map<List<Command>, CompiledProgram> programs;
+
+    public ProgramCompiler() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    public ProgramCompiler(final int cacheSize) {
+        this.programs = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<List<Command>, CompiledProgram> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * @param commands must not be modified afterwards, as they are used as the cache key
+     */
+    public CompiledProgram compile(final List<Command> commands) {
+        return programs.computeIfAbsent(commands, CompiledProgram::compile);
+    }
+}
@@ -0,0 +1,79 @@
+package com.red_badger.service;
+
+import com.red_badger.domain.AbstractRobot;
+import com.red_badger.domain.CompiledProgram;
+import com.red_badger.domain.Grid;
+import com.red_badger.domain.SimulationResult;
+import com.red_badger.enums.Orientation;
+import com.red_badger.metrics.MotionTally;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the most recent simulation results by starting position, orientation and program. The results are only
+ * valid for the scent and parked robots they were computed against, so the cache is cleared whenever the grid's version
+ * changes.
+ * Not thread-safe.
+ */
+public class ResultCache {
+
+    public static final int DEFAULT_CACHE_SIZE = 65_536;
+
+    private record Key(int xCord, int yCord, Orientation orientation, CompiledProgram program) {
+    }
+
+    /**
+     * A result along with the motion of the simulation that produced it, which a cache hit counts again.
+     */
+    private record Entry(SimulationResult result, int moves, int turns, int scentBlockedMoves) {
+    }
+
+    private final Map<Key, Entry> results;
+    private long gridVersion = -1;
+
+    public ResultCache() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    public ResultCache(final int cacheSize) {
+        this.results = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, Entry> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached result for the robot's current position and the program, or runs the simulation. On a cache
+     * hit the robot itself is not moved.
+     *
+     * @param motion an empty tally, which the simulation counts its moves into; a cache hit adds the counts of the
+     *               simulation it reuses instead
+     */
+    public SimulationResult getOrSimulate(final Grid grid, final AbstractRobot robot, final CompiledProgram program,
+                                          final MotionTally motion, final Supplier<SimulationResult> simulation) {
+        if (grid.getVersion() != gridVersion) {
+            results.clear();
+            gridVersion = grid.getVersion();
+        }
+
+        final var key = new Key(robot.getXCord(), robot.getYCord(), robot.getOrientation(), program);
+        final Entry cached = results.get(key);
+        if (cached != null) {
+            motion.moved(cached.moves());
+            motion.turned(cached.turns());
+            motion.scentBlocked(cached.scentBlockedMoves());
+            return cached.result();
+        }
+
+        final SimulationResult result = simulation.get();
+        // a robot that left new scent was lost, and its result no longer holds for the changed grid
+        if (grid.getVersion() == gridVersion) {
+            results.put(key, new Entry(result, motion.getMoves(), motion.getTurns(), motion.getScentBlockedMoves()));
+        }
+        return result;
+    }
+}
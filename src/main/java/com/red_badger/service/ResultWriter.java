@@ -0,0 +1,154 @@
+package com.red_badger.service;
+
+import com.red_badger.domain.SimulationResult;
+import com.red_badger.enums.CommandResult;
+import com.red_badger.enums.Orientation;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Formats results straight into a reusable byte buffer and writes it out in large chunks, in the same format as
+ * {@link SimulationResult#format()} followed by a line separator. Writing a result allocates nothing, although
+ * callers may still allocate a {@link SimulationResult} per robot to hand it over.
+ * <p>
+ * Nothing is written until the buffer is full or {@link #flush()} is called. Not thread-safe.
+ */
+public class ResultWriter implements Flushable, Closeable {
+
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private static final byte[] LOST = " LOST".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+    private static final byte[][] ORIENTATIONS = orientationBytes();
+    // two numbers of up to 11 characters, two spaces and the single letter orientation
+    private static final int MAX_RESULT_LENGTH = 11 + 1 + 11 + 1 + 1 + LOST.length + LINE_SEPARATOR.length;
+
+    private final OutputStream output;
+    private final byte[] buffer;
+    private int position;
+
+    public ResultWriter(final OutputStream output) {
+        this(output, DEFAULT_BUFFER_SIZE);
+    }
+
+    public ResultWriter(final WritableByteChannel channel) {
+        this(Channels.newOutputStream(channel), DEFAULT_BUFFER_SIZE);
+    }
+
+    public ResultWriter(final OutputStream output, final int bufferSize) {
+        this.output = output;
+        this.buffer = new byte[Math.max(bufferSize, MAX_RESULT_LENGTH)];
+    }
+
+    public void write(final SimulationResult result) {
+        write(result.xCord(), result.yCord(), result.orientation(), result.result());
+    }
+
+    public void write(final int xCord, final int yCord, final Orientation orientation, final CommandResult result) {
+        ensureCapacity(MAX_RESULT_LENGTH);
+        writeNumber(xCord);
+        buffer[position++] = ' ';
+        writeNumber(yCord);
+        buffer[position++] = ' ';
+        writeBytes(ORIENTATIONS[orientation.ordinal()]);
+        if (result == CommandResult.LOST) {
+            writeBytes(LOST);
+        }
+        writeBytes(LINE_SEPARATOR);
+    }
+
+    public void write(final String line) {
+        final byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length + LINE_SEPARATOR.length > buffer.length) {
+            flushBuffer();
+            writeDirectly(bytes);
+            writeDirectly(LINE_SEPARATOR);
+            return;
+        }
+        ensureCapacity(bytes.length + LINE_SEPARATOR.length);
+        writeBytes(bytes);
+        writeBytes(LINE_SEPARATOR);
+    }
+
+    @Override
+    public void flush() {
+        flushBuffer();
+        try {
+            output.flush();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try (output) {
+            flush();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void ensureCapacity(final int length) {
+        if (buffer.length - position < length) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() {
+        if (position > 0) {
+            writeDirectly(buffer, position);
+            position = 0;
+        }
+    }
+
+    private void writeDirectly(final byte[] bytes) {
+        writeDirectly(bytes, bytes.length);
+    }
+
+    private void writeDirectly(final byte[] bytes, final int length) {
+        try {
+            output.write(bytes, 0, length);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeBytes(final byte[] bytes) {
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void writeNumber(final int number) {
+        long value = number;
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long remaining = value / 10; remaining > 0; remaining /= 10) {
+            digits++;
+        }
+        for (int i = position + digits - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += digits;
+    }
+
+    private static byte[][] orientationBytes() {
+        final Orientation[] orientations = Orientation.values();
+        final byte[][] bytes = new byte[orientations.length][];
+        for (Orientation orientation : orientations) {
+            bytes[orientation.ordinal()] = orientation.getOrientation().getBytes(StandardCharsets.US_ASCII);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,41 @@
+package com.red_badger.service;
+
+import com.red_badger.domain.AbstractRobot;
+import com.red_badger.domain.Grid;
+import com.red_badger.enums.Command;
+import com.red_badger.exception.InvalidInputException;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Runs a mission on a grid shared with other missions, see {@link Grid#createConcurrentGrid(int, int, int)}, so that
+ * its robots heed the scent left by all of them. The mission's grid line has to match the shared grid's bounds.
+ */
+@RequiredArgsConstructor
+public class SharedGridListener implements InputParser.MissionListener {
+
+    public static final String BOUNDS_MISMATCH_ERROR = "Grid size must match the shared grid: %d %d, provided = '%d %d'";
+
+    private final Grid sharedGrid;
+    private final InputParser.MissionListener listener;
+
+    @Override
+    public void onGrid(final Grid grid) {
+        if (grid.getUpperRightX() != sharedGrid.getUpperRightX() || grid.getUpperRightY() != sharedGrid.getUpperRightY()) {
+            throw new InvalidInputException(BOUNDS_MISMATCH_ERROR.formatted(sharedGrid.getUpperRightX(),
+                    sharedGrid.getUpperRightY(), grid.getUpperRightX(), grid.getUpperRightY()));
+        }
+        listener.onGrid(sharedGrid);
+    }
+
+    @Override
+    public void onRobot(final AbstractRobot robot, final List<Command> commands) {
+        listener.onRobot(robot, commands);
+    }
+
+    @Override
+    public void onComplete() {
+        listener.onComplete();
+    }
+}
@@ -0,0 +1,251 @@
+package com.red_badger.trace;
+
+import com.red_badger.enums.Orientation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Records the cell-by-cell path of selected robots into a preallocated ring buffer, which a background thread flushes
+ * to a trace file.
+ * <p>
+ * Recording an event costs a few array stores and one release store, and never waits for the disk: if the flushing
+ * thread falls a whole buffer behind, events are dropped and counted instead, and the count is written at the end of
+ * the trace. Only one thread may record at a time, i.e. one mission is traced at a time.
+ * <p>
+ * The trace file starts with the magic {@code MRTR} and a format version byte, followed by one record per event of
+ * unsigned LEB128 varints: robot id, step, x, y and the orientation's ordinal. A robot id of 0 ends the trace and is
+ * followed by the number of dropped events.
+ */
+public final class PathTracer implements Closeable {
+
+    public static final String TRACE_PROPERTY = "martian.trace";
+    public static final String ROBOTS_PROPERTY = "martian.trace.robots";
+    public static final String BUFFER_EVENTS_PROPERTY = "martian.trace.buffer-events";
+    public static final int DEFAULT_BUFFER_EVENTS = 1 << 16;
+    public static final int MAX_BUFFER_EVENTS = 1 << 24;
+    public static final String INVALID_TRACE_ERROR = "Not a path trace, or an unsupported version";
+    public static final byte[] MAGIC = {'M', 'R', 'T', 'R'};
+    public static final byte FORMAT_VERSION = 1;
+
+    private static final int EVENT_INTS = 5;
+    private static final long FLUSH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final Orientation[] ORIENTATIONS = Orientation.values();
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+
+    static {
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(PathTracer.class, "head", long.class);
+            TAIL = lookup.findVarHandle(PathTracer.class, "tail", long.class);
+        } catch (final ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final RobotFilter robotFilter;
+    private final int[] events;
+    private final int capacity;
+    private final int mask;
+    private final OutputStream output;
+    private final Thread flusher;
+    /**
+     * The next event to flush, only advanced by the flushing thread.
+     */
+    private long head;
+    /**
+     * The next event to record, only advanced by the recording thread.
+     */
+    private long tail;
+    private long droppedEvents;
+    private volatile boolean closed;
+    private IOException flushError;
+
+    /**
+     * @param bufferEvents the number of events the ring buffer holds, rounded up to a power of two
+     */
+    public PathTracer(final OutputStream output, final RobotFilter robotFilter, final int bufferEvents) {
+        if (bufferEvents < 1 || bufferEvents > MAX_BUFFER_EVENTS) {
+            throw new IllegalArgumentException("Trace buffer must hold 1-%d events, provided = %d".formatted(MAX_BUFFER_EVENTS, bufferEvents));
+        }
+        this.capacity = bufferEvents == 1 ? 1 : Integer.highestOneBit(bufferEvents - 1) << 1;
+        this.mask = capacity - 1;
+        this.events = new int[capacity * EVENT_INTS];
+        this.robotFilter = robotFilter;
+        this.output = new BufferedOutputStream(output);
+        this.flusher = new Thread(this::flushUntilClosed, "path-tracer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * @return a tracer writing to the file named by the {@value #TRACE_PROPERTY} system property, or {@code null} if
+     * it is not set. {@value #ROBOTS_PROPERTY} selects the robots, see {@link RobotFilter#parse(String)}, and
+     * {@value #BUFFER_EVENTS_PROPERTY} sizes the ring buffer.
+     */
+    public static PathTracer fromSystemProperties() throws IOException {
+        final String trace = System.getProperty(TRACE_PROPERTY);
+        if (trace == null || trace.isBlank()) {
+            return null;
+        }
+        final RobotFilter robotFilter = RobotFilter.parse(System.getProperty(ROBOTS_PROPERTY));
+        final int bufferEvents = Integer.getInteger(BUFFER_EVENTS_PROPERTY, DEFAULT_BUFFER_EVENTS);
+        return new PathTracer(Files.newOutputStream(Path.of(trace)), robotFilter, bufferEvents);
+    }
+
+    public boolean isTraced(final int robotId) {
+        return robotFilter.accepts(robotId);
+    }
+
+    public void record(final int robotId, final int step, final int xCord, final int yCord, final Orientation orientation) {
+        final long next = tail;
+        final long backlog = next - (long) HEAD.getAcquire(this);
+        if (backlog == capacity) {
+            droppedEvents++;
+            return;
+        }
+        final int base = (int) (next & mask) * EVENT_INTS;
+        events[base] = robotId;
+        events[base + 1] = step;
+        events[base + 2] = xCord;
+        events[base + 3] = yCord;
+        events[base + 4] = orientation.ordinal();
+        TAIL.setRelease(this, next + 1);
+        if (backlog == capacity >> 1) {
+            LockSupport.unpark(flusher);
+        }
+    }
+
+    public long getDroppedEvents() {
+        return droppedEvents;
+    }
+
+    /**
+     * Flushes the remaining events, ends the trace and closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while flushing the trace", e);
+        }
+        if (flushError != null) {
+            throw flushError;
+        }
+    }
+
+    private void flushUntilClosed() {
+        try (output) {
+            output.write(MAGIC);
+            output.write(FORMAT_VERSION);
+            while (true) {
+                // read before the tail, so every event recorded before close is flushed
+                final boolean done = closed;
+                final long last = (long) TAIL.getAcquire(this);
+                for (long next = head; next < last; next++) {
+                    writeEvent((int) (next & mask) * EVENT_INTS);
+                    // frees the slot right away, so the recording thread only drops events while the disk lags
+                    HEAD.setRelease(this, next + 1);
+                }
+                if (done) {
+                    break;
+                }
+                LockSupport.parkNanos(this, FLUSH_INTERVAL_NANOS);
+            }
+            writeVarint(output, 0);
+            writeVarint(output, droppedEvents);
+        } catch (final IOException e) {
+            flushError = e;
+        }
+    }
+
+    private void writeEvent(final int base) throws IOException {
+        for (int i = 0; i < EVENT_INTS; i++) {
+            writeVarint(output, Integer.toUnsignedLong(events[base + i]));
+        }
+    }
+
+    /**
+     * Reads a trace file written by a {@link PathTracer}.
+     *
+     * @return the number of events dropped while tracing
+     */
+    public static long read(final InputStream input, final Consumer<TraceEvent> events) throws IOException {
+        final var bufferedInput = new BufferedInputStream(input);
+        final byte[] header = bufferedInput.readNBytes(MAGIC.length + 1);
+        if (header.length != MAGIC.length + 1 || !Arrays.equals(header, 0, MAGIC.length, MAGIC, 0, MAGIC.length)
+                || header[MAGIC.length] != FORMAT_VERSION) {
+            throw new IOException(INVALID_TRACE_ERROR);
+        }
+        while (true) {
+            final int robotId = (int) readVarint(bufferedInput);
+            if (robotId == 0) {
+                return readVarint(bufferedInput);
+            }
+            final int step = (int) readVarint(bufferedInput);
+            final int xCord = (int) readVarint(bufferedInput);
+            final int yCord = (int) readVarint(bufferedInput);
+            final int orientation = (int) readVarint(bufferedInput);
+            if (orientation >= ORIENTATIONS.length) {
+                throw new IOException(INVALID_TRACE_ERROR);
+            }
+            events.accept(new TraceEvent(robotId, step, xCord, yCord, ORIENTATIONS[orientation]));
+        }
+    }
+
+    /**
+     * Prints every event of a trace file, one per line, followed by the number of dropped events if there were any.
+     */
+    public static void print(final Path trace, final Consumer<String> output) throws IOException {
+        try (InputStream input = Files.newInputStream(trace)) {
+            final long dropped = read(input, event -> output.accept(event.format()));
+            if (dropped > 0) {
+                output.accept("dropped " + dropped);
+            }
+        }
+    }
+
+    private static void writeVarint(final OutputStream output, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            output.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.write((int) value);
+    }
+
+    private static long readVarint(final InputStream input) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            final int b = input.read();
+            if (b < 0) {
+                throw new EOFException("Trace ends in the middle of an event");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException(INVALID_TRACE_ERROR);
+    }
+}
@@ -0,0 +1,70 @@
+package com.red_badger.trace;
+
+import java.util.Arrays;
+
+/**
+ * Selects robots by their position in the mission input, from a list such as {@code 1,5,10-20}.
+ */
+public final class RobotFilter {
+
+    public static final String INVALID_FILTER_ERROR = "Robots to trace must be a list of ids or id ranges, e.g. 1,5,10-20, provided = '%s'";
+    public static final RobotFilter ALL = new RobotFilter(new int[]{1}, new int[]{Integer.MAX_VALUE});
+
+    /**
+     * Sorted, non-overlapping ranges, so a robot is looked up with a binary search.
+     */
+    private final int[] firstIds;
+    private final int[] lastIds;
+
+    private RobotFilter(final int[] firstIds, final int[] lastIds) {
+        this.firstIds = firstIds;
+        this.lastIds = lastIds;
+    }
+
+    /**
+     * @param filter the robot ids and ranges, separated by commas; blank selects every robot
+     */
+    public static RobotFilter parse(final String filter) {
+        if (filter == null || filter.isBlank()) {
+            return ALL;
+        }
+        final String[] parts = filter.split(",");
+        final long[] ranges = new long[parts.length];
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                final String part = parts[i].trim();
+                final int dash = part.indexOf('-');
+                final int first = Integer.parseInt(dash < 0 ? part : part.substring(0, dash).trim());
+                final int last = dash < 0 ? first : Integer.parseInt(part.substring(dash + 1).trim());
+                if (first < 1 || last < first) {
+                    throw new IllegalArgumentException(INVALID_FILTER_ERROR.formatted(filter));
+                }
+                ranges[i] = (long) first << Integer.SIZE | last;
+            }
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException(INVALID_FILTER_ERROR.formatted(filter), e);
+        }
+        Arrays.sort(ranges);
+
+        final int[] firstIds = new int[ranges.length];
+        final int[] lastIds = new int[ranges.length];
+        int count = 0;
+        for (long range : ranges) {
+            final int first = (int) (range >>> Integer.SIZE);
+            final int last = (int) range;
+            if (count > 0 && first <= lastIds[count - 1] + 1L) {
+                lastIds[count - 1] = Math.max(lastIds[count - 1], last);
+            } else {
+                firstIds[count] = first;
+                lastIds[count++] = last;
+            }
+        }
+        return new RobotFilter(Arrays.copyOf(firstIds, count), Arrays.copyOf(lastIds, count));
+    }
+
+    public boolean accepts(final int robotId) {
+        final int index = Arrays.binarySearch(firstIds, robotId);
+        final int range = index >= 0 ? index : -index - 2;
+        return range >= 0 && robotId <= lastIds[range];
+    }
+}
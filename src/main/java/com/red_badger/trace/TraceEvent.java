@@ -0,0 +1,19 @@
+package com.red_badger.trace;
+
+import com.red_badger.enums.Orientation;
+
+/**
+ * The pose of a robot after one of its instructions.
+ *
+ * @param robotId the robot's position in the mission input, starting at 1
+ * @param step    the number of instructions executed so far, 0 for the starting pose
+ */
+public record TraceEvent(int robotId, int step, int xCord, int yCord, Orientation orientation) {
+
+    /**
+     * @return the event as printed by {@code --print-trace}, e.g. {@code 3 12 2 3 S}
+     */
+    public String format() {
+        return robotId + " " + step + " " + xCord + " " + yCord + " " + orientation.getOrientation();
+    }
+}
@@ -1,14 +1,38 @@
 package com.red_badger;
 
+import com.red_badger.domain.RobotFleet;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import static com.github.stefanbirkner.systemlambda.SystemLambda.*;
 import static org.assertj.core.api.Assertions.assertThat;
 
 class MartianRobotsApplicationTest {
 
+    private static final String SAMPLE_MISSION = """
+            5 3
+            1 1 E
+            RFRFRFRF
+            3 2 N
+            FRRFLLFFRRFLL
+            0 3 W
+            LLFFFLFLFL
+            """;
+    private static final String SAMPLE_RESULTS = """
+            1 1 E
+            3 3 N LOST
+            2 3 S
+            """;
+
+    @TempDir
+    Path tempDir;
+
     @Test
     @SneakyThrows
     void correctOutputReturnedOnValidInput() {
@@ -64,6 +88,33 @@ class MartianRobotsApplicationTest {
                 });
     }
 
+    @Test
+    @SneakyThrows
+    void correctOutputReturnedInPipelineMode() {
+        final var input = """
+                5 3
+                1 1 E
+                RFRFRFRF
+
+                3 2 N
+                FRRFLLFFRRFLL
+
+                0 3 W
+                LLFFFLFLFL
+                """;
+
+        final var expected = """
+                1 1 E
+                3 3 N LOST
+                2 3 S
+                """;
+        withTextFromSystemIn(input)
+                .execute(() -> {
+                    final var actual = tapSystemOutNormalized(() -> MartianRobotsApplication.main(new String[]{MartianRobotsApplication.PIPELINE_OPTION}));
+                    assertThat(actual).isEqualTo(expected);
+                });
+    }
+
     @Test
     @SneakyThrows
     void errorMessageDisplayedOnInvalidInput() {
@@ -82,4 +133,75 @@ class MartianRobotsApplicationTest {
                     assertThat(actual).isEqualTo(expected);
                 });
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    void correctOutputReturnedInFleetMode() {
+        final Path mission = Files.writeString(tempDir.resolve("mission.txt"), SAMPLE_MISSION);
+
+        final var actual = tapSystemOutNormalized(() -> MartianRobotsApplication.main(new String[]{
+                MartianRobotsApplication.FLEET_OPTION, mission.toString()}));
+
+        assertThat(actual).isEqualTo(SAMPLE_RESULTS);
+    }
+
+    @Test
+    @SneakyThrows
+    void fleetModeStepsRobotsWithVectorApiWhenEnabled() {
+        final Path mission = Files.writeString(tempDir.resolve("mission.txt"), SAMPLE_MISSION);
+
+        restoreSystemProperties(() -> {
+            System.setProperty(RobotFleet.VECTOR_PROPERTY, "true");
+            final var actual = tapSystemOutNormalized(() -> MartianRobotsApplication.main(new String[]{
+                    MartianRobotsApplication.FLEET_OPTION, mission.toString()}));
+            assertThat(actual).isEqualTo(SAMPLE_RESULTS);
+        });
+    }
+
+    @Test
+    @SneakyThrows
+    void fleetModeFallsBackToScalarSteppingWithoutVectorModule() {
+        final Path mission = Files.writeString(tempDir.resolve("mission.txt"), SAMPLE_MISSION);
+        final Path java = Path.of(System.getProperty("java.home"), "bin", "java");
+
+        // a JVM started without --add-modules jdk.incubator.vector, unlike the one running the tests
+        final Process process = new ProcessBuilder(java.toString(), "-D" + RobotFleet.VECTOR_PROPERTY + "=true",
+                "-cp", System.getProperty("java.class.path"), MartianRobotsApplication.class.getName(),
+                MartianRobotsApplication.FLEET_OPTION, mission.toString())
+                .redirectErrorStream(true)
+                .start();
+
+        assertThat(new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).replace("\r\n", "\n"))
+                .isEqualTo(SAMPLE_RESULTS);
+        assertThat(process.waitFor()).isZero();
+    }
+
+    @Test
+    @SneakyThrows
+    void fleetModeReportsInvalidMissionWithoutResults() {
+        final Path mission = Files.writeString(tempDir.resolve("mission.txt"), "5 3\n1 1 E\nRFRFRFRF\n0 0\nRFRFRFRF\n");
+
+        final var output = tapSystemErrNormalized(() -> {
+            final var results = tapSystemOutNormalized(() -> MartianRobotsApplication.main(new String[]{
+                    MartianRobotsApplication.FLEET_OPTION, mission.toString()}));
+            assertThat(results).isEmpty();
+        });
+
+        assertThat(output).isEqualTo("Invalid input: Robot instruction must have 3 parts, provided = '0 0'\n");
+    }
+
+    @Test
+    @SneakyThrows
+    void invalidMissionLeavesNoBinaryFileBehind() {
+        final Path mission = Files.writeString(tempDir.resolve("mission.txt"), "5 3\n1 1 E\nRFRFRFRF\n0 0\nRFRFRFRF\n");
+        final Path binary = tempDir.resolve("mission.bin");
+
+        final var actual = tapSystemErrNormalized(() -> MartianRobotsApplication.main(new String[]{
+                MartianRobotsApplication.TO_BINARY_OPTION, mission.toString(), binary.toString()}));
+
+        assertThat(actual).isEqualTo("Invalid input: Robot instruction must have 3 parts, provided = '0 0'\n");
+        try (var files = Files.list(tempDir)) {
+            assertThat(files).containsExactly(mission);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.red_badger.domain;
+
+import com.red_badger.enums.Command;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CommandRegistryTest {
+
+    @Test
+    void standardRegistryContainsSpecificationCommands() {
+        final var registry = CommandRegistry.standard();
+
+        assertThat(registry.getCommands()).containsExactly(Command.L, Command.R, Command.F);
+        assertThat(registry.describe()).isEqualTo("[L, R, F]");
+        assertThat(registry.lookup('f')).isEqualTo(Command.F);
+        assertThat(registry.lookup('B')).isNull();
+    }
+
+    @Test
+    void lookupReturnsNullOutsideTable() {
+        assertThat(CommandRegistry.standard().lookup(-1)).isNull();
+        assertThat(CommandRegistry.standard().lookup(200)).isNull();
+    }
+
+    @Test
+    void withCommandReturnsNewRegistry() {
+        final var registry = CommandRegistry.standard().withCommand(Command.B);
+
+        assertThat(registry.lookup('b')).isEqualTo(Command.B);
+        assertThat(registry.describe()).isEqualTo("[L, R, F, B]");
+        assertThat(CommandRegistry.standard().lookup('B')).isNull();
+    }
+}
@@ -0,0 +1,119 @@
+package com.red_badger.domain;
+
+import com.red_badger.enums.Command;
+import com.red_badger.enums.CommandResult;
+import com.red_badger.enums.Orientation;
+import com.red_badger.metrics.EngineMetrics;
+import com.red_badger.metrics.MotionTally;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.red_badger.enums.Command.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompiledProgramTest {
+
+    @Test
+    void compileMergesTurnsAndMoves() {
+        final var program = CompiledProgram.compile(List.of(L, L, F, F, F, R, F, L, R, R));
+
+        assertThat(program.size()).isEqualTo(3);
+        assertThat(program.rotation(0)).isEqualTo(2);
+        assertThat(program.steps(0)).isEqualTo(3);
+        assertThat(program.directionMultiplier(0)).isEqualTo(1);
+        assertThat(program.rotation(1)).isEqualTo(1);
+        assertThat(program.steps(1)).isEqualTo(1);
+        assertThat(program.rotation(2)).isEqualTo(1);
+        assertThat(program.steps(2)).isEqualTo(0);
+        assertThat(program.turnCommands(0)).isEqualTo(2);
+        assertThat(program.turnCommands(1)).isEqualTo(1);
+        assertThat(program.turnCommands(2)).isEqualTo(3);
+    }
+
+    @Test
+    void compileKeepsCountOfTurnsThatCancelOut() {
+        final var program = CompiledProgram.compile(List.of(L, R, R, L));
+
+        assertThat(program.size()).isEqualTo(1);
+        assertThat(program.rotation(0)).isZero();
+        assertThat(program.steps(0)).isZero();
+        assertThat(program.turnCommands(0)).isEqualTo(4);
+        assertThat(CompiledProgram.compile(List.of()).size()).isZero();
+    }
+
+    @Test
+    void executeProgramCountsEveryTurnCommandBeforeTheRobotIsLost() {
+        final var motion = new MotionTally();
+
+        final CommandResult result = new MarsRobot(0, 0, Orientation.N)
+                .executeProgram(Grid.createGrid(0, 0), CompiledProgram.compile(List.of(L, R, F, L, R)), motion);
+
+        assertThat(result).isEqualTo(CommandResult.LOST);
+        assertThat(motion.getTurns()).isEqualTo(2);
+        assertThat(motion.getMoves()).isZero();
+    }
+
+    @Test
+    void executeProgramMatchesCommandByCommandExecution() {
+        final var random = new Random(11);
+        final var grid = Grid.createGrid(6, 4);
+        final var referenceGrid = Grid.createGrid(6, 4);
+
+        for (int i = 0; i < 5_000; i++) {
+            final int x = random.nextInt(7);
+            final int y = random.nextInt(5);
+            final var orientation = Orientation.values()[random.nextInt(4)];
+            final List<Command> commands = new ArrayList<>();
+            final int length = 1 + random.nextInt(40);
+            for (int c = 0; c < length; c++) {
+                commands.add(List.of(L, R, F, F, F, B).get(random.nextInt(6)));
+            }
+
+            final var robot = new MarsRobot(x, y, orientation);
+            final var reference = new MarsRobot(x, y, orientation);
+            final var motion = new MotionTally();
+            final long referenceTurns = EngineMetrics.get().getTurns();
+            final CommandResult result = robot.executeProgram(grid, CompiledProgram.compile(commands), motion);
+            final CommandResult expected = reference.executeCommands(referenceGrid, commands);
+
+            assertThat(result).as("robot %d", i).isEqualTo(expected);
+            assertThat(robot).as("robot %d", i).isEqualTo(reference);
+            assertThat(motion.getTurns()).as("robot %d", i).isEqualTo(EngineMetrics.get().getTurns() - referenceTurns);
+        }
+        assertThat(grid).isEqualTo(referenceGrid);
+    }
+
+    @Test
+    void executeProgramStopsInFrontOfParkedRobots() {
+        final var random = new Random(13);
+        final var grid = Grid.createGrid(6, 4);
+        final var referenceGrid = Grid.createGrid(6, 4);
+        for (int i = 0; i < 6; i++) {
+            final int x = random.nextInt(7);
+            final int y = random.nextInt(5);
+            grid.occupyPosition(x, y);
+            referenceGrid.occupyPosition(x, y);
+        }
+
+        for (int i = 0; i < 5_000; i++) {
+            final var orientation = Orientation.values()[random.nextInt(4)];
+            final List<Command> commands = new ArrayList<>();
+            final int length = 1 + random.nextInt(40);
+            for (int c = 0; c < length; c++) {
+                commands.add(List.of(L, R, F, F, F, B).get(random.nextInt(6)));
+            }
+
+            final var robot = new MarsRobot(random.nextInt(7), random.nextInt(5), orientation);
+            final var reference = robot.copy();
+            final CommandResult result = robot.executeProgram(grid, CompiledProgram.compile(commands));
+            final CommandResult expected = reference.executeCommands(referenceGrid, commands);
+
+            assertThat(result).as("robot %d", i).isEqualTo(expected);
+            assertThat(robot).as("robot %d", i).isEqualTo(reference);
+        }
+        assertThat(grid).isEqualTo(referenceGrid);
+    }
+}
@@ -0,0 +1,96 @@
+package com.red_badger.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrentSparseCellStoreTest {
+
+    private static final int THREADS = 8;
+
+    @Test
+    void matchesSparseStoreWhileGrowing() {
+        final var random = new Random(5);
+        final var concurrent = new ConcurrentSparseCellStore();
+        final var sparse = new SparseCellStore();
+
+        for (int i = 0; i < 10_000; i++) {
+            final int x = random.nextInt(201);
+            final int y = random.nextInt(201);
+            final int bit = 1 << random.nextInt(5);
+            assertThat(concurrent.add(x, y, bit)).isEqualTo(sparse.add(x, y, bit));
+        }
+        for (int x = 0; x <= 200; x++) {
+            for (int y = 0; y <= 200; y++) {
+                assertThat(concurrent.get(x, y)).isEqualTo(sparse.get(x, y));
+            }
+        }
+        assertThat(concurrent.size()).isEqualTo(sparse.size());
+    }
+
+    @Test
+    void everyBitIsAddedOnceAcrossThreads() throws Exception {
+        final var store = new ConcurrentSparseCellStore();
+        final var added = new AtomicInteger();
+        final var start = new CyclicBarrier(THREADS);
+        final ExecutorService threads = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<CompletableFuture<Void>> writers = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                final int offset = thread;
+                writers.add(CompletableFuture.runAsync(() -> {
+                    await(start);
+                    // every thread adds every bit of the same cells, in a different order
+                    for (int i = 0; i < 20_000; i++) {
+                        final int cell = (i * 7 + offset * 1_009) % 20_000;
+                        if (store.add(cell, 1_000_000_000 - cell, 1 << (cell % 4))) {
+                            added.incrementAndGet();
+                        }
+                        assertThat(store.get(cell, 1_000_000_000 - cell) & (1 << (cell % 4))).isNotZero();
+                    }
+                }, threads));
+            }
+            CompletableFuture.allOf(writers.toArray(CompletableFuture[]::new)).get();
+        } finally {
+            threads.shutdownNow();
+        }
+
+        assertThat(added).hasValue(20_000);
+        assertThat(store.size()).isEqualTo(20_000);
+        for (int cell = 0; cell < 20_000; cell++) {
+            assertThat(store.get(cell, 1_000_000_000 - cell)).isEqualTo(1 << (cell % 4));
+        }
+    }
+
+    @Test
+    void copyIsIndependentAndEqual() {
+        final var store = new ConcurrentSparseCellStore();
+        store.add(0, 0, 2);
+        store.add(1_000_000_000, 0, Grid.OCCUPIED_BIT);
+
+        final var copy = store.copy();
+        assertThat(copy).isEqualTo(store).hasSameHashCodeAs(store);
+
+        copy.add(0, 1_000_000_000, 2);
+        assertThat(copy).isNotEqualTo(store);
+        assertThat(store.get(0, 1_000_000_000)).isZero();
+        assertThat(copy.get(1_000_000_000, 0)).isEqualTo(Grid.OCCUPIED_BIT);
+    }
+
+    private static void await(final CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (final Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.red_badger.domain;
+
+import com.red_badger.enums.Orientation;
+import com.red_badger.exception.InvalidInputException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GridSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void denseSnapshotRoundTrips() throws IOException {
+        final var grid = Grid.createGrid(50, 49);
+        final var random = new Random(3);
+        for (int i = 0; i < 300; i++) {
+            // scent is only ever left on an edge cell, facing off the grid
+            switch (Orientation.values()[random.nextInt(4)]) {
+                case N -> grid.scentPosition(random.nextInt(51), 49, Orientation.N);
+                case S -> grid.scentPosition(random.nextInt(51), 0, Orientation.S);
+                case E -> grid.scentPosition(50, random.nextInt(50), Orientation.E);
+                case W -> grid.scentPosition(0, random.nextInt(50), Orientation.W);
+            }
+            grid.occupyPosition(random.nextInt(51), random.nextInt(50));
+        }
+        final Path snapshot = directory.resolve("grid.snapshot");
+
+        GridSnapshot.save(grid, snapshot);
+
+        final Grid loaded = GridSnapshot.load(snapshot);
+        assertThat(loaded).isEqualTo(grid);
+        assertThat(loaded.getOccupiedCells()).isEqualTo(grid.getOccupiedCells());
+        // a nibble of scent and a bit of occupancy per cell
+        assertThat(Files.size(snapshot)).isEqualTo(16 + 51 * 50 / 2 + (51 * 50 + 7) / 8);
+    }
+
+    @Test
+    void sparseSnapshotRoundTrips() throws IOException {
+        final var grid = Grid.createGrid(1_000_000, 1_000_000, MissionLimits.LARGEST_GRID_VALUE);
+        grid.scentPosition(1_000_000, 1_000_000, Orientation.E);
+        grid.scentPosition(1_000_000, 1_000_000, Orientation.N);
+        grid.scentPosition(0, 1_000_000, Orientation.W);
+        grid.occupyPosition(42, 42);
+        final Path snapshot = directory.resolve("planet.snapshot");
+
+        GridSnapshot.save(grid, snapshot);
+
+        assertThat(GridSnapshot.load(snapshot)).isEqualTo(grid);
+        assertThat(Files.size(snapshot)).isEqualTo(16 + 4 + 3 * 9);
+    }
+
+    @Test
+    void restoreAddsSnapshotToGridWithSameBounds() throws IOException {
+        final var saved = Grid.createGrid(5, 3);
+        saved.scentPosition(3, 3, Orientation.N);
+        final Path snapshot = directory.resolve("grid.snapshot");
+        GridSnapshot.save(saved, snapshot);
+
+        final var grid = Grid.createGrid(5, 3);
+        GridSnapshot.restore(snapshot, grid);
+        assertThat(grid.hasPositionBeenScented(3, 3, Orientation.N)).isTrue();
+
+        assertThatThrownBy(() -> GridSnapshot.restore(snapshot, Grid.createGrid(5, 4)))
+                .isInstanceOf(IOException.class)
+                .hasMessage(GridSnapshot.BOUNDS_MISMATCH_ERROR.formatted(5, 3, 5, 4, snapshot));
+    }
+
+    @Test
+    void rejectsScentThatDoesNotLeadOffTheGrid() throws IOException {
+        final Path snapshot = directory.resolve("grid.snapshot");
+        final var interior = Grid.createGrid(5, 3);
+        interior.scentPosition(2, 2, Orientation.N);
+        GridSnapshot.save(interior, snapshot);
+
+        assertThatThrownBy(() -> GridSnapshot.load(snapshot))
+                .isInstanceOf(InvalidInputException.class)
+                .hasMessage(InvalidInputException.MESSAGE.formatted(GridSnapshot.SCENT_ERROR.formatted(2, 2, Orientation.N, snapshot)));
+
+        final var edge = Grid.createGrid(5, 3);
+        edge.scentPosition(5, 1, Orientation.W);
+        GridSnapshot.save(edge, snapshot);
+
+        assertThatThrownBy(() -> GridSnapshot.load(snapshot))
+                .isInstanceOf(InvalidInputException.class)
+                .hasMessage(InvalidInputException.MESSAGE.formatted(GridSnapshot.SCENT_ERROR.formatted(5, 1, Orientation.W, snapshot)));
+    }
+
+    @Test
+    void rejectsSparseScentThatDoesNotLeadOffTheGrid() throws IOException {
+        final Path snapshot = directory.resolve("planet.snapshot");
+        final var grid = Grid.createGrid(1_000_000, 1_000_000, MissionLimits.LARGEST_GRID_VALUE);
+        grid.scentPosition(1_000_000, 17, Orientation.N);
+        GridSnapshot.save(grid, snapshot);
+
+        assertThatThrownBy(() -> GridSnapshot.load(snapshot))
+                .isInstanceOf(InvalidInputException.class)
+                .hasMessage(InvalidInputException.MESSAGE.formatted(
+                        GridSnapshot.SCENT_ERROR.formatted(1_000_000, 17, Orientation.N, snapshot)));
+    }
+
+    @Test
+    void rejectsFilesThatAreNotSnapshots() throws IOException {
+        final Path file = Files.writeString(directory.resolve("mission.txt"), "5 3\n1 1 E\nRFRFRFRF\n");
+
+        assertThatThrownBy(() -> GridSnapshot.load(file))
+                .isInstanceOf(IOException.class)
+                .hasMessage(GridSnapshot.INVALID_SNAPSHOT_ERROR.formatted(file));
+    }
+}
@@ -6,6 +6,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.util.stream.IntStream;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -75,4 +77,67 @@ class GridTest {
         grid.scentPosition(1, 1, Orientation.E);
         assertThat(grid.hasPositionBeenScented(1, 1, Orientation.W)).isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    void whenPositionScentedWithSeveralOrientations_recordsAll() {
+        final var grid = Grid.createGrid(5, 5);
+        grid.scentPosition(5, 5, Orientation.N);
+        grid.scentPosition(5, 5, Orientation.E);
+
+        assertThat(grid.hasPositionBeenScented(5, 5, Orientation.N)).isTrue();
+        assertThat(grid.hasPositionBeenScented(5, 5, Orientation.E)).isTrue();
+        assertThat(grid.hasPositionBeenScented(5, 5, Orientation.S)).isFalse();
+        assertThat(grid.hasPositionBeenScented(5, 4, Orientation.N)).isFalse();
+        assertThat(grid.hasPositionBeenScented(4, 5, Orientation.E)).isFalse();
+    }
+
+    @Test
+    void scentVersionChangesOnlyWhenNewScentIsAdded() {
+        final var grid = Grid.createGrid(5, 5);
+        final long initialVersion = grid.getVersion();
+
+        grid.scentPosition(5, 5, Orientation.N);
+        final long scentedVersion = grid.getVersion();
+        grid.scentPosition(5, 5, Orientation.N);
+
+        assertThat(scentedVersion).isNotEqualTo(initialVersion);
+        assertThat(grid.getVersion()).isEqualTo(scentedVersion);
+    }
+
+    @Test
+    void createGridAcceptsConfiguredLimit() {
+        final var grid = Grid.createGrid(1_000_000_000, 1_000_000_000, MissionLimits.LARGEST_GRID_VALUE);
+
+        grid.scentPosition(1_000_000_000, 7, Orientation.E);
+        assertThat(grid.hasPositionBeenScented(1_000_000_000, 7, Orientation.E)).isTrue();
+        assertThat(grid.hasPositionBeenScented(1_000_000_000, 7, Orientation.N)).isFalse();
+        assertThat(grid.hasPositionBeenScented(7, 1_000_000_000, Orientation.E)).isFalse();
+        assertThat(grid.copy()).isEqualTo(grid);
+
+        assertThatThrownBy(() -> Grid.createGrid(101, 1, 100))
+                .isInstanceOf(InvalidGridException.class)
+                .hasMessage(InvalidGridException.MESSAGE.formatted(101, 1, Grid.MIN_VALUE, 100));
+    }
+
+    @Test
+    void concurrentGridCountsEveryScentOnceAcrossThreads() {
+        final var grid = Grid.createConcurrentGrid(50, 50, Grid.MAX_VALUE);
+
+        IntStream.range(0, 8).parallel().forEach(thread -> {
+            for (int x = 0; x <= 50; x++) {
+                for (int y = 0; y <= 50; y++) {
+                    grid.scentPosition(x, y, Orientation.values()[(x + y + thread) % 4]);
+                    grid.occupyPosition(x, y);
+                }
+            }
+        });
+
+        assertThat(grid.getOccupiedCells()).isEqualTo(51 * 51);
+        assertThat(grid.getVersion()).isEqualTo(5L * 51 * 51);
+        for (Orientation orientation : Orientation.values()) {
+            assertThat(grid.hasPositionBeenScented(50, 0, orientation)).isTrue();
+        }
+        assertThat(grid.stepsToOccupiedCell(0, 0, 1, 0, 50)).isZero();
+        assertThat(grid.copy()).isEqualTo(grid);
+    }
+}
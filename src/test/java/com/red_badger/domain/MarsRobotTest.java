@@ -1,6 +1,7 @@
 package com.red_badger.domain;
 
 import com.red_badger.enums.Command;
+import com.red_badger.enums.CommandResult;
 import com.red_badger.enums.Orientation;
 import com.red_badger.exception.RobotLostException;
 import org.junit.jupiter.api.Test;
@@ -65,9 +66,56 @@ class MarsRobotTest {
 
         verify(grid).hasPositionBeenScented(0, 0, Orientation.N);
         verify(grid).isValidPosition(0, 1);
+        verify(grid).isOccupied(0, 1);
         verifyNoMoreInteractions(grid);
     }
 
+    @Test
+    void whenBackwardCommand_movesRobotBackwardAndKeepsOrientation() {
+        final var robot = MarsRobot.builder().xCord(2).yCord(2).orientation(Orientation.E).build();
+        final var grid = Grid.createGrid(5, 3);
+
+        robot.move(grid, Command.B);
+        assertThat(robot).isEqualTo(new MarsRobot(1, 2, Orientation.E));
+
+        final var lost = new MarsRobot(0, 2, Orientation.E);
+        assertThat(lost.tryMove(grid, Command.B)).isEqualTo(CommandResult.LOST);
+        assertThat(grid.hasPositionBeenScented(0, 2, Orientation.W)).isTrue();
+        assertThat(grid.hasPositionBeenScented(0, 2, Orientation.E)).isFalse();
+    }
+
+    @Test
+    void scentLeftMovingBackwardOnlyBlocksMovesInTheSameDirection() {
+        final var grid = Grid.createGrid(5, 3);
+        assertThat(new MarsRobot(0, 0, Orientation.N).tryMove(grid, Command.B)).isEqualTo(CommandResult.LOST);
+
+        final var forward = new MarsRobot(0, 0, Orientation.N);
+        assertThat(forward.tryMove(grid, Command.F)).isEqualTo(CommandResult.EXECUTED);
+        assertThat(forward).isEqualTo(new MarsRobot(0, 1, Orientation.N));
+
+        final var facingSouth = new MarsRobot(0, 0, Orientation.S);
+        assertThat(facingSouth.tryMove(grid, Command.F)).isEqualTo(CommandResult.BLOCKED);
+
+        final var program = new MarsRobot(0, 1, Orientation.N);
+        assertThat(program.executeProgram(grid, CompiledProgram.compile(List.of(Command.B, Command.B, Command.F))))
+                .isEqualTo(CommandResult.EXECUTED);
+        assertThat(program).isEqualTo(new MarsRobot(0, 1, Orientation.N));
+    }
+
+    @Test
+    void refusesMoveOntoParkedRobot() {
+        final var robot = MarsRobot.builder().xCord(1).yCord(1).orientation(Orientation.N).build();
+        final var grid = Grid.createGrid(5, 3);
+        grid.occupyPosition(1, 2);
+
+        assertThat(robot.tryMove(grid, Command.F)).isEqualTo(CommandResult.BLOCKED);
+        assertThat(robot).isEqualTo(new MarsRobot(1, 1, Orientation.N));
+
+        robot.turn(Command.R);
+        assertThat(robot.tryMove(grid, Command.F)).isEqualTo(CommandResult.EXECUTED);
+        assertThat(robot).isEqualTo(new MarsRobot(2, 1, Orientation.E));
+    }
+
     @Test
     void ignoresCommandIfPositionHasBeenScentedForOrientation() {
         final var robot = MarsRobot.builder().xCord(0).yCord(0).orientation(Orientation.W).build();
@@ -104,6 +152,7 @@ class MarsRobotTest {
         verify(grid).scentPosition(0, 0, Orientation.W);
         verify(grid).hasPositionBeenScented(0, 0, Orientation.N);
         verify(grid).isValidPosition(0, 1);
+        verify(grid).isOccupied(0, 1);
         verifyNoMoreInteractions(grid);
     }
 
@@ -142,6 +191,7 @@ class MarsRobotTest {
 
         verify(grid, times(4)).hasPositionBeenScented(anyInt(), anyInt(), any(Orientation.class));
         verify(grid, times(4)).isValidPosition(anyInt(), anyInt());
+        verify(grid, times(4)).isOccupied(anyInt(), anyInt());
         verifyNoMoreInteractions(grid);
     }
 
@@ -179,8 +229,53 @@ class MarsRobotTest {
         // 5 and not 4 because we called 'hasPositionBeenScented' in the previous assertion
         verify(grid, times(5)).hasPositionBeenScented(anyInt(), anyInt(), any(Orientation.class));
         verify(grid, times(4)).isValidPosition(anyInt(), anyInt());
+        verify(grid, times(3)).isOccupied(anyInt(), anyInt());
         verify(grid).scentPosition(3, 3, Orientation.N);
         verifyNoMoreInteractions(grid);
     }
 
-}
\ No newline at end of file
+    @Test
+    void tryMoveReturnsResultWithoutThrowing() {
+        final var grid = Grid.createGrid(5, 3);
+        final var robot = MarsRobot.builder().xCord(0).yCord(2).orientation(Orientation.N).build();
+
+        assertThat(robot.tryMove(grid, Command.F)).isEqualTo(CommandResult.EXECUTED);
+        assertThat(robot.getYCord()).isEqualTo(3);
+
+        assertThat(robot.tryMove(grid, Command.F)).isEqualTo(CommandResult.LOST);
+        assertThat(robot.getYCord()).isEqualTo(3);
+        assertThat(grid.hasPositionBeenScented(0, 3, Orientation.N)).isTrue();
+
+        final var nextRobot = MarsRobot.builder().xCord(0).yCord(3).orientation(Orientation.N).build();
+        assertThat(nextRobot.tryMove(grid, Command.F)).isEqualTo(CommandResult.BLOCKED);
+        assertThat(nextRobot.getYCord()).isEqualTo(3);
+    }
+
+    @Test
+    void executeCommandsStopsWhenRobotIsLost() {
+        final var grid = spy(Grid.createGrid(5, 3));
+        final var robot = MarsRobot.builder().xCord(3).yCord(2).orientation(Orientation.N).build();
+
+        final var result = robot.executeCommands(grid, List.of(Command.F, Command.F, Command.R, Command.F));
+
+        assertThat(result).isEqualTo(CommandResult.LOST);
+        assertThat(robot.getXCord()).isEqualTo(3);
+        assertThat(robot.getYCord()).isEqualTo(3);
+        assertThat(robot.getOrientation()).isEqualTo(Orientation.N);
+        verify(grid, times(2)).isValidPosition(anyInt(), anyInt());
+    }
+
+    @Test
+    void executeCommandsReturnsExecutedWhenRobotStaysOnGrid() {
+        final var grid = Grid.createGrid(5, 3);
+        final var robot = MarsRobot.builder().xCord(1).yCord(1).orientation(Orientation.E).build();
+
+        final var result = robot.executeCommands(grid, List.of(Command.R, Command.F, Command.R, Command.F, Command.R, Command.F, Command.R, Command.F));
+
+        assertThat(result).isEqualTo(CommandResult.EXECUTED);
+        assertThat(robot.getXCord()).isEqualTo(1);
+        assertThat(robot.getYCord()).isEqualTo(1);
+        assertThat(robot.getOrientation()).isEqualTo(Orientation.E);
+    }
+
+}
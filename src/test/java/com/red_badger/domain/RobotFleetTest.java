@@ -0,0 +1,103 @@
+package com.red_badger.domain;
+
+import com.red_badger.enums.CommandResult;
+import com.red_badger.enums.Orientation;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static com.red_badger.enums.Command.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RobotFleetTest {
+
+    @Test
+    void addStoresRobotsBeyondInitialCapacity() {
+        final var fleet = new RobotFleet(1);
+
+        fleet.add(1, 1, Orientation.E, List.of(R, F, R, F, R, F, R, F, L, L, L));
+        fleet.add(3, 2, Orientation.N, List.of());
+        fleet.add(new MarsRobot(0, 3, Orientation.W), List.of(L));
+
+        assertThat(fleet.size()).isEqualTo(3);
+        assertThat(fleet.getXCord(1)).isEqualTo(3);
+        assertThat(fleet.getYCord(1)).isEqualTo(2);
+        assertThat(fleet.getOrientation(2)).isEqualTo(Orientation.W);
+        assertThat(fleet.getCommandCount(0)).isEqualTo(11);
+        assertThat(fleet.getCommandCount(1)).isZero();
+        assertThat(fleet.getCommandCount(2)).isEqualTo(1);
+        assertThat(fleet.getStatus(0)).isNull();
+    }
+
+    @Test
+    void simulateStoresFinalPositionAndStatus() {
+        final var grid = Grid.createGrid(5, 3);
+        final var fleet = new RobotFleet();
+        fleet.add(1, 1, Orientation.E, List.of(R, F, R, F, R, F, R, F));
+        fleet.add(3, 2, Orientation.N, List.of(F, R, R, F, L, L, F, F, R, R, F, L, L));
+        fleet.add(0, 3, Orientation.W, List.of(L, L, F, F, F, L, F, L, F, L));
+
+        assertThat(fleet.simulate(0, grid)).isEqualTo(CommandResult.EXECUTED);
+        assertThat(fleet.simulate(1, grid)).isEqualTo(CommandResult.LOST);
+        assertThat(fleet.simulate(2, grid)).isEqualTo(CommandResult.EXECUTED);
+
+        assertThat(List.of(fleet.getXCord(1), fleet.getYCord(1))).containsExactly(3, 3);
+        assertThat(fleet.getOrientation(1)).isEqualTo(Orientation.N);
+        assertThat(fleet.getStatus(1)).isEqualTo(CommandResult.LOST);
+        assertThat(List.of(fleet.getXCord(2), fleet.getYCord(2))).containsExactly(2, 3);
+        assertThat(fleet.getOrientation(2)).isEqualTo(Orientation.S);
+        assertThat(grid.hasPositionBeenScented(3, 3, Orientation.N)).isTrue();
+    }
+
+    @Test
+    void simulateBatchMatchesSimulatingEveryRobotInOrder() {
+        for (FleetStepper stepper : new FleetStepper[]{new ScalarFleetStepper(), new VectorFleetStepper()}) {
+            for (int[] gridSize : new int[][]{{5, 3}, {50, 50}, {0, 7}, {1_000, 2}}) {
+                final var random = new Random(gridSize[0] * 31L + gridSize[1]);
+                final var fleet = new RobotFleet(1, stepper);
+                final var expectedFleet = new RobotFleet(1, new ScalarFleetStepper());
+                for (int robot = 0; robot < 2_500; robot++) {
+                    final var orientation = Orientation.values()[random.nextInt(4)];
+                    final int xCord = random.nextInt(gridSize[0] + 1);
+                    final int yCord = random.nextInt(gridSize[1] + 1);
+                    final var commands = random.ints(random.nextInt(101), 0, 4)
+                            .mapToObj(command -> List.of(L, R, F, B).get(command))
+                            .collect(Collectors.toList());
+                    fleet.add(xCord, yCord, orientation, commands);
+                    expectedFleet.add(xCord, yCord, orientation, commands);
+                }
+                final var grid = Grid.createGrid(gridSize[0], gridSize[1], 1_000);
+                final var expectedGrid = Grid.createGrid(gridSize[0], gridSize[1], 1_000);
+
+                fleet.simulateBatch(0, 1_500, grid);
+                fleet.simulateBatch(1_500, fleet.size(), grid);
+                for (int robot = 0; robot < expectedFleet.size(); robot++) {
+                    expectedFleet.simulate(robot, expectedGrid);
+                }
+
+                for (int robot = 0; robot < fleet.size(); robot++) {
+                    assertThat(List.of(fleet.getXCord(robot), fleet.getYCord(robot), fleet.getOrientation(robot), fleet.getStatus(robot)))
+                            .as("%s robot %d on %dx%d", stepper.getClass().getSimpleName(), robot, gridSize[0], gridSize[1])
+                            .isEqualTo(List.of(expectedFleet.getXCord(robot), expectedFleet.getYCord(robot),
+                                    expectedFleet.getOrientation(robot), expectedFleet.getStatus(robot)));
+                }
+                assertThat(grid).isEqualTo(expectedGrid);
+            }
+        }
+    }
+
+    @Test
+    void simulateBatchRespectsParkedRobots() {
+        final var grid = Grid.createGrid(5, 3);
+        grid.occupyPosition(1, 3);
+        final var fleet = new RobotFleet();
+        fleet.add(1, 1, Orientation.N, List.of(F, F, F));
+
+        fleet.simulateBatch(0, 1, grid);
+
+        assertThat(List.of(fleet.getXCord(0), fleet.getYCord(0))).containsExactly(1, 2);
+        assertThat(fleet.getStatus(0)).isEqualTo(CommandResult.EXECUTED);
+    }
+}
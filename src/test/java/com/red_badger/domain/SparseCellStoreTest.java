@@ -0,0 +1,54 @@
+package com.red_badger.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SparseCellStoreTest {
+
+    @Test
+    void addReportsOnlyNewBits() {
+        final var store = new SparseCellStore();
+
+        assertThat(store.add(3, 4, 1)).isTrue();
+        assertThat(store.add(3, 4, 1)).isFalse();
+        assertThat(store.add(3, 4, 4)).isTrue();
+        assertThat(store.get(3, 4)).isEqualTo(5);
+        assertThat(store.get(4, 3)).isZero();
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void matchesDenseStoreWhileGrowing() {
+        final var random = new Random(5);
+        final var sparse = new SparseCellStore();
+        final var dense = new DenseCellStore(200, 200);
+
+        for (int i = 0; i < 10_000; i++) {
+            final int x = random.nextInt(201);
+            final int y = random.nextInt(201);
+            final int bit = 1 << random.nextInt(4);
+            assertThat(sparse.add(x, y, bit)).isEqualTo(dense.add(x, y, bit));
+        }
+        for (int x = 0; x <= 200; x++) {
+            for (int y = 0; y <= 200; y++) {
+                assertThat(sparse.get(x, y)).isEqualTo(dense.get(x, y));
+            }
+        }
+    }
+
+    @Test
+    void copyIsIndependentAndEqual() {
+        final var store = new SparseCellStore();
+        store.add(1_000_000_000, 0, 2);
+
+        final var copy = store.copy();
+        assertThat(copy).isEqualTo(store).hasSameHashCodeAs(store);
+
+        copy.add(0, 1_000_000_000, 2);
+        assertThat(copy).isNotEqualTo(store);
+        assertThat(store.get(0, 1_000_000_000)).isZero();
+    }
+}
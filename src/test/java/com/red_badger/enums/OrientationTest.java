@@ -3,6 +3,7 @@ package com.red_badger.enums;
 import com.red_badger.exception.UnknownOrientationException;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
@@ -70,4 +71,13 @@ class OrientationTest {
         );
     }
 
-}
\ No newline at end of file
+    @ParameterizedTest
+    @EnumSource(Orientation.class)
+    void whenRotate_matchesRepeatedRightTurns(final Orientation orientation) {
+        assertThat(orientation.rotate(0)).isEqualTo(orientation);
+        assertThat(orientation.rotate(1)).isEqualTo(orientation.turnRight());
+        assertThat(orientation.rotate(2)).isEqualTo(orientation.turnRight().turnRight());
+        assertThat(orientation.rotate(3)).isEqualTo(orientation.turnLeft());
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.red_badger.metrics;
+
+import com.red_badger.service.InputParser;
+import com.red_badger.service.MissionRunner;
+import com.red_badger.service.ParallelMissionRunner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EngineMetricsTest {
+
+    private static final String SAMPLE_INPUT = """
+            5 3
+            1 1 E
+            RFRFRFRF
+            3 2 N
+            FRRFLLFFRRFLL
+            0 3 W
+            LLFFFLFLFL
+            """;
+
+    private final EngineMetrics metrics = EngineMetrics.get();
+
+    @BeforeEach
+    void resetMetrics() {
+        metrics.reset();
+        metrics.setRecordingLatency(true);
+    }
+
+    @AfterEach
+    void stopRecording() {
+        metrics.setRecordingLatency(false);
+    }
+
+    @Test
+    void countsSampleMission() {
+        runSample();
+
+        assertThat(metrics.getMissions()).isEqualTo(1);
+        assertThat(metrics.getParsedLines()).isEqualTo(7);
+        assertThat(metrics.getRobotsProcessed()).isEqualTo(3);
+        assertThat(metrics.getRobotsLost()).isEqualTo(1);
+        assertThat(metrics.getMoves()).isEqualTo(11);
+        assertThat(metrics.getTurns()).isEqualTo(13);
+        assertThat(metrics.getScentBlockedMoves()).isEqualTo(1);
+        assertThat(metrics.getParseLatency().getCount()).isEqualTo(1);
+        assertThat(metrics.getSimulateLatency().getCount()).isEqualTo(1);
+        assertThat(metrics.getWriteLatency().getCount()).isEqualTo(1);
+        assertThat(metrics.getSummary()).startsWith("missions=1 lines=7 robots=3 lost=1 moves=11 turns=13 scentBlocked=1 ");
+    }
+
+    @Test
+    void countsRobotsSimulatedAgainAfterSpeculationOnce() {
+        final List<String> output = new ArrayList<>();
+        // one robot per chunk, so the third robot is lost speculatively from where the second one leaves scent
+        new InputParser().parseInput(toStream(SAMPLE_INPUT), new ParallelMissionRunner(output::add, 3, 1));
+
+        assertThat(output).containsExactly("1 1 E", "3 3 N LOST", "2 3 S");
+        assertThat(metrics.getRobotsProcessed()).isEqualTo(3);
+        assertThat(metrics.getMoves()).isEqualTo(11);
+        assertThat(metrics.getTurns()).isEqualTo(13);
+        assertThat(metrics.getScentBlockedMoves()).isEqualTo(1);
+    }
+
+    @Test
+    void timesWritingResultsApartFromParsing() {
+        final long writeNanos = TimeUnit.MILLISECONDS.toNanos(50);
+        new InputParser().parseInput(toStream(SAMPLE_INPUT), new MissionRunner(result -> sleep(writeNanos)));
+        new InputParser().parseInput(toStream(SAMPLE_INPUT), new ParallelMissionRunner(result -> sleep(writeNanos), 2, 1));
+
+        assertThat(metrics.getWriteLatency().getMeanNanos()).isGreaterThanOrEqualTo(3 * writeNanos);
+        assertThat(metrics.getParseLatency().getMaxNanos()).isLessThan(writeNanos);
+        assertThat(metrics.getSimulateLatency().getMaxNanos()).isLessThan(writeNanos);
+    }
+
+    @Test
+    void countsMotionOfCachedResults() {
+        final List<String> output = new ArrayList<>();
+        new InputParser().parseInput(toStream("5 3\n1 1 E\nRFRFRFRF\n1 1 E\nRFRFRFRF\n"), new MissionRunner(output::add));
+
+        assertThat(output).containsExactly("1 1 E", "1 1 E");
+        assertThat(metrics.getMoves()).isEqualTo(8);
+        assertThat(metrics.getTurns()).isEqualTo(8);
+    }
+
+    @Test
+    void publishesMBeans() throws Exception {
+        EngineMetrics.registerMBeans();
+        EngineMetrics.registerMBeans();
+        runSample();
+
+        final var server = ManagementFactory.getPlatformMBeanServer();
+        assertThat(server.getAttribute(new ObjectName(EngineMetrics.OBJECT_NAME), "RobotsProcessed")).isEqualTo(3L);
+        assertThat(server.getAttribute(new ObjectName(EngineMetrics.SIMULATE_LATENCY_OBJECT_NAME), "Count")).isEqualTo(1L);
+    }
+
+    private static void runSample() {
+        final List<String> output = new ArrayList<>();
+        new InputParser().parseInput(toStream(SAMPLE_INPUT), new MissionRunner(output::add));
+        assertThat(output).containsExactly("1 1 E", "3 3 N LOST", "2 3 S");
+    }
+
+    private static void sleep(final long nanos) {
+        final long deadline = System.nanoTime() + nanos;
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(deadline - System.nanoTime());
+        }
+    }
+
+    private static ByteArrayInputStream toStream(final String input) {
+        return new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,38 @@
+package com.red_badger.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyHistogramTest {
+
+    @Test
+    void percentilesAreBucketUpperBounds() {
+        final var histogram = new LatencyHistogram();
+        for (int i = 0; i < 98; i++) {
+            histogram.record(100);
+        }
+        histogram.record(5_000);
+        histogram.record(1_000_000);
+
+        assertThat(histogram.getCount()).isEqualTo(100);
+        assertThat(histogram.getMaxNanos()).isEqualTo(1_000_000);
+        assertThat(histogram.getMeanNanos()).isEqualTo((98 * 100 + 5_000 + 1_000_000) / 100);
+        assertThat(histogram.getP50Nanos()).isEqualTo(127);
+        assertThat(histogram.getP90Nanos()).isEqualTo(127);
+        assertThat(histogram.getP99Nanos()).isEqualTo(8_191);
+        assertThat(histogram.getPercentileNanos(1)).isEqualTo(1_000_000);
+    }
+
+    @Test
+    void emptyAndResetHistogramsReportZero() {
+        final var histogram = new LatencyHistogram();
+        assertThat(histogram.getP99Nanos()).isZero();
+
+        histogram.record(42);
+        histogram.reset();
+        assertThat(histogram.getCount()).isZero();
+        assertThat(histogram.getMeanNanos()).isZero();
+        assertThat(histogram.getMaxNanos()).isZero();
+    }
+}
@@ -0,0 +1,122 @@
+package com.red_badger.service;
+
+import com.red_badger.exception.InvalidInputException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchRunnerTest {
+
+    private static final String VALID_MISSION = """
+            5 3
+            1 1 E
+            RFRFRFRF
+            3 2 N
+            FRRFLLFFRRFLL
+            0 3 W
+            LLFFFLFLFL
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void runWritesOutputFilePerMissionInDirectory() throws IOException {
+        // given
+        final Path missions = Files.createDirectory(tempDir.resolve("missions"));
+        Files.writeString(missions.resolve("a.txt"), VALID_MISSION);
+        Files.writeString(missions.resolve("b.txt"), "2 2\n0 0 N\nFFFFF\n");
+        final Path output = tempDir.resolve("output");
+
+        // when
+        final List<BatchRunner.MissionReport> reports = new BatchRunner(2).run(missions, output);
+
+        // then
+        assertThat(reports).extracting(BatchRunner.MissionReport::failed).containsExactly(false, false);
+        assertThat(Files.readAllLines(output.resolve("a.txt" + BatchRunner.OUTPUT_EXTENSION)))
+                .containsExactly("1 1 E", "3 3 N LOST", "2 3 S");
+        assertThat(Files.readAllLines(output.resolve("b.txt" + BatchRunner.OUTPUT_EXTENSION)))
+                .containsExactly("0 2 N LOST");
+    }
+
+    @Test
+    void runReadsMissionsFromManifestAndReportsInvalidMissions() throws IOException {
+        // given
+        Files.writeString(tempDir.resolve("valid.txt"), VALID_MISSION);
+        Files.writeString(tempDir.resolve("invalid.txt"), "5 3\n0 0\nRFRFRFRF\n");
+        final Path manifest = Files.writeString(tempDir.resolve("manifest"), "invalid.txt\n\nvalid.txt\n");
+        final Path output = tempDir.resolve("output");
+
+        // when
+        final List<BatchRunner.MissionReport> reports = new BatchRunner(2).run(manifest, output);
+
+        // then
+        assertThat(reports).extracting(report -> report.mission().getFileName().toString())
+                .containsExactly("invalid.txt", "valid.txt");
+        final var expectedError = InvalidInputException.MESSAGE.formatted(InputParser.ROBOT_INSTRUCTION_SIZE_ERROR.formatted("0 0"));
+        assertThat(reports.get(0).error()).isEqualTo(expectedError);
+        assertThat(Files.readAllLines(output.resolve("invalid.txt" + BatchRunner.ERROR_EXTENSION))).containsExactly(expectedError);
+        assertThat(reports.get(1).failed()).isFalse();
+        assertThat(Files.readAllLines(output.resolve("valid.txt" + BatchRunner.OUTPUT_EXTENSION)))
+                .containsExactly("1 1 E", "3 3 N LOST", "2 3 S");
+    }
+
+    @Test
+    void runLeavesNoOutputFileForInvalidMissionAndReplacesFilesOfEarlierRuns() throws IOException {
+        // given
+        final Path missions = Files.createDirectory(tempDir.resolve("missions"));
+        final Path mission = Files.writeString(missions.resolve("mission.txt"), "5 3\n1 1 E\nRFRFRFRF\n0 0\nRFRFRFRF\n");
+        final Path output = tempDir.resolve("output");
+        final Path outputFile = output.resolve("mission.txt" + BatchRunner.OUTPUT_EXTENSION);
+        final Path errorFile = output.resolve("mission.txt" + BatchRunner.ERROR_EXTENSION);
+
+        // when
+        new BatchRunner(1).run(missions, output);
+
+        // then
+        assertThat(errorFile).exists();
+        assertThat(outputFile).doesNotExist();
+
+        // when
+        Files.writeString(mission, VALID_MISSION);
+        new BatchRunner(1).run(missions, output);
+
+        // then
+        assertThat(errorFile).doesNotExist();
+        assertThat(Files.readAllLines(outputFile)).containsExactly("1 1 E", "3 3 N LOST", "2 3 S");
+
+        // when
+        Files.writeString(mission, "5 3\n0 0\nRFRFRFRF\n");
+        new BatchRunner(1).run(missions, output);
+
+        // then
+        assertThat(errorFile).exists();
+        assertThat(outputFile).doesNotExist();
+        try (var files = Files.list(output)) {
+            assertThat(files).containsExactly(errorFile);
+        }
+    }
+
+    @Test
+    void runRejectsManifestListingTwoMissionsOfTheSameName() throws IOException {
+        // given
+        final Path first = Files.writeString(Files.createDirectory(tempDir.resolve("a")).resolve("mission.txt"), VALID_MISSION);
+        final Path second = Files.writeString(Files.createDirectory(tempDir.resolve("b")).resolve("mission.txt"), VALID_MISSION);
+        final Path manifest = Files.writeString(tempDir.resolve("manifest"), "a/mission.txt\nb/mission.txt\n");
+        final Path output = tempDir.resolve("output");
+
+        // when / then
+        assertThatThrownBy(() -> new BatchRunner(2).run(manifest, output))
+                .isInstanceOf(InvalidInputException.class)
+                .hasMessage(InvalidInputException.MESSAGE.formatted(BatchRunner.DUPLICATE_MISSION_NAME_ERROR.formatted(
+                        first.toAbsolutePath(), second.toAbsolutePath())));
+        assertThat(output).doesNotExist();
+    }
+}
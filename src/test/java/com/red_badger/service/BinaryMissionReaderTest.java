@@ -0,0 +1,155 @@
+package com.red_badger.service;
+
+import com.red_badger.domain.CommandRegistry;
+import com.red_badger.domain.Grid;
+import com.red_badger.domain.MarsRobot;
+import com.red_badger.domain.MissionLimits;
+import com.red_badger.enums.Command;
+import com.red_badger.enums.Orientation;
+import com.red_badger.exception.InvalidInputException;
+import com.red_badger.exception.UnknownCommandException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static com.red_badger.service.InputParser.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryMissionReaderTest {
+
+    @Test
+    void binaryMissionProducesSameResultsAndConvertsBack() throws IOException {
+        final String text = randomMission(new Random(17), 2_000);
+        final byte[] binary = toBinary(text, CommandRegistry.standard());
+
+        final List<String> expected = new ArrayList<>();
+        new InputParser().parseInput(toStream(text), new MissionRunner(expected::add));
+        final List<String> actual = new ArrayList<>();
+        new BinaryMissionReader().read(new ByteArrayInputStream(binary), new MissionRunner(actual::add));
+
+        assertThat(actual).containsExactlyElementsOf(expected);
+        assertThat(binary.length).isLessThan(text.length() / 3);
+
+        final var convertedText = new ByteArrayOutputStream();
+        new BinaryMissionReader().read(new ByteArrayInputStream(binary), new MissionTextWriter(convertedText));
+        assertThat(convertedText.toString(StandardCharsets.US_ASCII)).isEqualTo(text);
+    }
+
+    @Test
+    void packsCommandsTwoBitsEach() throws IOException {
+        final byte[] binary = toBinary("5 3\n1 1 E\nRFRFLFRF\n", CommandRegistry.standard());
+
+        // magic, version, alphabet of 3, grid, robot pose, command count and 8 commands in 2 bytes
+        assertThat(binary).hasSize(4 + 1 + 4 + 2 + 2 + 1 + 2);
+        assertThat(Arrays.copyOfRange(binary, binary.length - 2, binary.length))
+                .containsExactly(0b10_01_10_01, 0b10_01_10_00);
+    }
+
+    @Test
+    void readsRegisteredCustomCommands() throws IOException {
+        final var registry = CommandRegistry.standard().withCommand(Command.B);
+        final byte[] binary = toBinary("5 3\n1 1 E\nFBBL\n", registry);
+
+        final List<String> output = new ArrayList<>();
+        new BinaryMissionReader(new InputParser(registry)).read(new ByteArrayInputStream(binary), new MissionRunner(output::add));
+        assertThat(output).containsExactly("0 1 N");
+
+        assertThatThrownBy(() -> new BinaryMissionReader().read(new ByteArrayInputStream(binary), new MissionRunner(output::add)))
+                .isInstanceOf(InvalidInputException.class)
+                .hasMessage(InvalidInputException.MESSAGE.formatted(UNKNOWN_INSTRUCTION_ERROR.formatted("B", "[L, R, F]")));
+    }
+
+    @Test
+    void reportsSameErrorsAsText() throws IOException {
+        final var largeLimits = new InputParser(CommandRegistry.standard(), new MissionLimits(60, 200));
+        final byte[] binary = toBinary("60 3\n55 1 E\n" + "F".repeat(150) + "\n", largeLimits);
+
+        final var reader = new BinaryMissionReader();
+        assertThatThrownBy(() -> reader.read(new ByteArrayInputStream(binary), new MissionRunner(line -> {
+        })))
+                .isInstanceOf(InvalidInputException.class)
+                .hasMessage(InvalidInputException.MESSAGE.formatted(INVALID_COORDINATES_ERROR.formatted("grid", 60, 3, 0, 50)));
+
+        final byte[] longProgram = toBinary("50 3\n1 1 E\n" + "F".repeat(150) + "\n", largeLimits);
+        assertThatThrownBy(() -> reader.read(new ByteArrayInputStream(longProgram), new MissionRunner(line -> {
+        })))
+                .isInstanceOf(InvalidInputException.class)
+                .hasMessage(InvalidInputException.MESSAGE.formatted(INSTRUCTION_SIZE_ERROR.formatted(100, 150,
+                        BinaryMissionReader.ROBOT_RECORD.formatted(1))));
+    }
+
+    @Test
+    void rejectsHugeCommandCountBeforeDecoding() throws IOException {
+        final byte[] header = toBinary("5 3\n1 1 E\nF\n", CommandRegistry.standard());
+        // keep the header, grid and robot pose, then claim 2^31 - 1 commands with no command bytes after them
+        final byte[] binary = Arrays.copyOf(header, header.length - 2 + 5);
+        System.arraycopy(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07}, 0, binary, header.length - 2, 5);
+
+        assertThatThrownBy(() -> new BinaryMissionReader().read(new ByteArrayInputStream(binary), new MissionRunner(line -> {
+        })))
+                .isInstanceOf(InvalidInputException.class)
+                .hasMessage(InvalidInputException.MESSAGE.formatted(INSTRUCTION_SIZE_ERROR.formatted(100, Integer.MAX_VALUE,
+                        BinaryMissionReader.ROBOT_RECORD.formatted(1))));
+    }
+
+    @Test
+    void writerRejectsCommandOutsideItsRegistry() {
+        final var writer = new BinaryMissionWriter(new ByteArrayOutputStream(), CommandRegistry.standard());
+        writer.onGrid(Grid.createGrid(5, 3));
+
+        assertThatThrownBy(() -> writer.onRobot(new MarsRobot(1, 1, Orientation.E), List.of(Command.F, Command.B)))
+                .isInstanceOf(UnknownCommandException.class)
+                .hasMessage(UnknownCommandException.MESSAGE.formatted("B", CommandRegistry.standard().getCommands()));
+    }
+
+    @Test
+    void rejectsTextAndTruncatedInput() throws IOException {
+        final byte[] binary = toBinary("5 3\n1 1 E\nRFRFRFRF\n", CommandRegistry.standard());
+        final var reader = new BinaryMissionReader();
+
+        assertThatThrownBy(() -> reader.read(toStream("5 3\n1 1 E\nRFRFRFRF\n"), new MissionRunner(line -> {
+        })))
+                .isInstanceOf(InvalidInputException.class)
+                .hasMessage(InvalidInputException.MESSAGE.formatted(BinaryMissionReader.INVALID_BINARY_ERROR));
+        assertThatThrownBy(() -> reader.read(new ByteArrayInputStream(Arrays.copyOf(binary, binary.length - 1)), new MissionRunner(line -> {
+        })))
+                .isInstanceOf(InvalidInputException.class)
+                .hasMessage(InvalidInputException.MESSAGE.formatted(BinaryMissionReader.TRUNCATED_ERROR));
+    }
+
+    private static byte[] toBinary(final String text, final CommandRegistry registry) {
+        return toBinary(text, new InputParser(registry, MissionLimits.DEFAULT));
+    }
+
+    private static byte[] toBinary(final String text, final InputParser parser) {
+        final var binary = new ByteArrayOutputStream();
+        parser.parseInput(toStream(text), new BinaryMissionWriter(binary, parser.getCommandRegistry()));
+        return binary.toByteArray();
+    }
+
+    private static String randomMission(final Random random, final int robots) {
+        final var input = new StringBuilder("20 30\n");
+        for (int i = 0; i < robots; i++) {
+            input.append(random.nextInt(21)).append(' ').append(random.nextInt(31)).append(' ')
+                    .append("NSEW".charAt(random.nextInt(4))).append('\n');
+            final int length = 1 + random.nextInt(100);
+            for (int c = 0; c < length; c++) {
+                input.append("LRFFF".charAt(random.nextInt(5)));
+            }
+            input.append('\n');
+        }
+        return input.toString();
+    }
+
+    private static ByteArrayInputStream toStream(final String input) {
+        return new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,43 @@
+package com.red_badger.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CheckpointListenerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void installmentsContinueFromSavedScent() {
+        final Path snapshot = directory.resolve("mars.snapshot");
+        final List<String> output = new ArrayList<>();
+
+        run("5 3\n1 1 E\nRFRFRFRF\n3 2 N\nFRRFLLFFRRFLL\n", snapshot, output);
+        run("5 3\n0 3 W\nLLFFFLFLFL\n", snapshot, output);
+
+        assertThat(output).containsExactly("1 1 E", "3 3 N LOST", "2 3 S");
+    }
+
+    @Test
+    void startsFromEmptyGridWithoutSnapshot() {
+        final List<String> output = new ArrayList<>();
+
+        run("5 3\n0 3 W\nLLFFFLFLFL\n", directory.resolve("new.snapshot"), output);
+
+        assertThat(output).containsExactly("3 3 N LOST");
+    }
+
+    private static void run(final String input, final Path snapshot, final List<String> output) {
+        new InputParser().parseInput(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)),
+                new CheckpointListener(snapshot, new MissionRunner(output::add)));
+    }
+}
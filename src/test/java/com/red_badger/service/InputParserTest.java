@@ -1,7 +1,10 @@
 package com.red_badger.service;
 
+import com.red_badger.domain.AbstractRobot;
+import com.red_badger.domain.CommandRegistry;
 import com.red_badger.domain.Grid;
 import com.red_badger.domain.MarsRobot;
+import com.red_badger.domain.MissionLimits;
 import com.red_badger.enums.Command;
 import com.red_badger.enums.InputType;
 import com.red_badger.enums.Orientation;
@@ -12,7 +15,11 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -57,6 +64,83 @@ class InputParserTest {
         );
     }
 
+    @Test
+    @DisplayName("Streams every robot to the listener in input order")
+    void parseInputStreamsRobotsToListener() {
+        classUnderTest = new InputParser();
+        final var input = """
+                5 3
+                1 1 E
+                RFRFRFRF
+
+                3 2 N
+                FRRFLLFFRRFLL
+                0 3 W
+                """;
+        final List<Object> events = new ArrayList<>();
+
+        classUnderTest.parseInput(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), new MissionListener() {
+            @Override
+            public void onGrid(final Grid grid) {
+                events.add(grid.getUpperRightX() + " " + grid.getUpperRightY());
+            }
+
+            @Override
+            public void onRobot(final AbstractRobot robot, final List<Command> commands) {
+                events.add(robot);
+                events.add(commands);
+            }
+        });
+
+        assertThat(events).containsExactly(
+                "5 3",
+                new MarsRobot(1, 1, Orientation.E),
+                List.of(Command.R, Command.F, Command.R, Command.F, Command.R, Command.F, Command.R, Command.F),
+                new MarsRobot(3, 2, Orientation.N),
+                List.of(Command.F, Command.R, Command.R, Command.F, Command.L, Command.L, Command.F, Command.F, Command.R, Command.R, Command.F, Command.L, Command.L),
+                new MarsRobot(0, 3, Orientation.W),
+                List.of()
+        );
+    }
+
+    @Test
+    @DisplayName("Throws on invalid line without waiting for the rest of the input")
+    void parseInputThrowsOnFirstInvalidLine() {
+        classUnderTest = new InputParser();
+        final List<AbstractRobot> robots = new ArrayList<>();
+        final var input = "5 3\n1 1 E\nRF\n2 2 X\nFF\n";
+
+        assertThatThrownBy(() -> classUnderTest.parseInput(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), new MissionListener() {
+            @Override
+            public void onGrid(final Grid grid) {
+            }
+
+            @Override
+            public void onRobot(final AbstractRobot robot, final List<Command> commands) {
+                robots.add(robot);
+            }
+        }))
+                .isInstanceOf(InvalidInputException.class)
+                .hasMessageStartingWith(InvalidInputException.MESSAGE.formatted(ROBOT_ORIENTATION_ERROR.formatted("X", Arrays.toString(Orientation.values()))));
+        assertThat(robots).containsExactly(new MarsRobot(1, 1, Orientation.E));
+    }
+
+    @Test
+    @DisplayName("Parses all robots into a fleet")
+    void parseFleetReturnsGridAndFleet() {
+        classUnderTest = new InputParser();
+        final var input = "5 3\n1 1 E\nRFRFRFRF\n3 2 N\nFRRFLLFFRRFLL\n";
+
+        final FleetConfiguration configuration = classUnderTest.parseFleet(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(configuration.grid())
+                .extracting(Grid::getUpperRightX, Grid::getUpperRightY)
+                .containsExactly(5, 3);
+        assertThat(configuration.fleet().size()).isEqualTo(2);
+        assertThat(configuration.fleet().getOrientation(1)).isEqualTo(Orientation.N);
+        assertThat(configuration.fleet().getCommandCount(1)).isEqualTo(13);
+    }
+
     @ParameterizedTest
     @MethodSource("validInput")
     void validateInputDoesNotThrowOnValidInput(final List<String> lines) {
@@ -195,9 +279,42 @@ class InputParserTest {
     private static Stream<Arguments> invalidInstructionInput() {
         return Stream.of(
                 Arguments.of("R".repeat(120), INSTRUCTION_SIZE_ERROR.formatted(MAX_INSTRUCTION_SIZE, 120, "R".repeat(120))),
-                Arguments.of("A", UNKNOWN_INSTRUCTION_ERROR.formatted("A", Arrays.toString(Command.values()))),
-                Arguments.of("L R", UNKNOWN_INSTRUCTION_ERROR.formatted(" ", Arrays.toString(Command.values())))
+                Arguments.of("A", UNKNOWN_INSTRUCTION_ERROR.formatted("A", CommandRegistry.standard().describe())),
+                Arguments.of("L R", UNKNOWN_INSTRUCTION_ERROR.formatted(" ", CommandRegistry.standard().describe())),
+                Arguments.of("FB", UNKNOWN_INSTRUCTION_ERROR.formatted("B", CommandRegistry.standard().describe()))
         );
     }
 
-}
\ No newline at end of file
+    @Test
+    void parseInstructionLineAcceptsRegisteredCommands() {
+        classUnderTest = new InputParser(CommandRegistry.standard().withCommand(Command.B));
+        assertThat(classUnderTest.parseInstructionLine("FbBL")).containsExactly(Command.F, Command.B, Command.B, Command.L);
+    }
+
+    @Test
+    void parseConfigurationEnforcesConfiguredLimits() {
+        classUnderTest = new InputParser(CommandRegistry.standard(), new MissionLimits(1_000_000_000, 200));
+        final Configuration configuration = classUnderTest.parseConfiguration(List.of("1000000000 70", "999999999 1 E", "F".repeat(200)));
+
+        assertThat(configuration.grid())
+                .extracting(Grid::getUpperRightX, Grid::getUpperRightY)
+                .containsExactly(1_000_000_000, 70);
+        assertThat(configuration.robots().values()).containsExactly(Collections.nCopies(200, Command.F));
+
+        assertThatThrownBy(() -> classUnderTest.parseInstructionLine("F".repeat(201)))
+                .isInstanceOf(InvalidInputException.class)
+                .hasMessageStartingWith(InvalidInputException.MESSAGE.formatted(INSTRUCTION_SIZE_ERROR.formatted(200, 201, "F".repeat(201))));
+    }
+
+    @Test
+    void defaultLimitsComeFromSystemProperties() {
+        System.setProperty(MissionLimits.MAX_GRID_VALUE_PROPERTY, "80");
+        try {
+            classUnderTest = new InputParser();
+            assertThat(classUnderTest.getLimits()).isEqualTo(new MissionLimits(80, MAX_INSTRUCTION_SIZE));
+        } finally {
+            System.clearProperty(MissionLimits.MAX_GRID_VALUE_PROPERTY);
+        }
+    }
+
+}
@@ -3,10 +3,12 @@ package com.red_badger.service;
 import com.red_badger.domain.AbstractRobot;
 import com.red_badger.domain.Grid;
 import com.red_badger.domain.MarsRobot;
+import com.red_badger.domain.RobotFleet;
 import com.red_badger.enums.Command;
 import com.red_badger.enums.Orientation;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -40,4 +42,46 @@ class InputProcessorTest {
                 .containsExactlyElementsOf(expectedOutput);
     }
 
-}
\ No newline at end of file
+    @Test
+    void processFleetReturnsValidOutput() {
+        // given
+        var grid = Grid.createGrid(5, 3);
+        var fleet = new RobotFleet();
+        fleet.add(1, 1, Orientation.E, List.of(R,F,R,F,R,F,R,F));
+        fleet.add(3, 2, Orientation.N, List.of(F,R,R,F,L,L,F,F,R,R,F,L,L));
+        fleet.add(0, 3, Orientation.W, List.of(L,L,F,F,F,L,F,L,F,L));
+        fleet.add(0, 3, Orientation.W, List.of(L,L,F,F,F,L,F,L,F,L));
+        final List<String> actual = new ArrayList<>();
+
+        // when
+        new InputProcessor(grid).processFleet(fleet, actual::add);
+
+        // then
+        assertThat(actual).containsExactly("1 1 E", "3 3 N LOST", "2 3 S", "2 3 S");
+    }
+
+    @Test
+    void parkedRobotsBlockLaterRobots() {
+        // given
+        final List<Command> commands = List.of(L,L,F,F,F,L,F,L,F,L);
+        var fleet = new RobotFleet();
+        fleet.add(3, 2, Orientation.N, List.of(F,R,R,F,L,L,F,F,R,R,F,L,L));
+        fleet.add(0, 3, Orientation.W, commands);
+        fleet.add(0, 3, Orientation.W, commands);
+        final List<String> fleetOutput = new ArrayList<>();
+        final var classUnderTest = new InputProcessor(Grid.createGrid(5, 3), Map.of(), true);
+
+        // when
+        new InputProcessor(Grid.createGrid(5, 3), Map.of(), true).processFleet(fleet, fleetOutput::add);
+        final List<String> actual = List.of(
+                classUnderTest.processRobotCommand(new MarsRobot(3, 2, Orientation.N), List.of(F,R,R,F,L,L,F,F,R,R,F,L,L)),
+                classUnderTest.processRobotCommand(new MarsRobot(0, 3, Orientation.W), commands),
+                classUnderTest.processRobotCommand(new MarsRobot(0, 3, Orientation.W), commands)
+        );
+
+        // then
+        assertThat(actual).containsExactly("3 3 N LOST", "2 3 S", "1 3 N LOST");
+        assertThat(fleetOutput).containsExactlyElementsOf(actual);
+    }
+
+}
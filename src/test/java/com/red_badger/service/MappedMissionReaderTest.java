@@ -0,0 +1,77 @@
+package com.red_badger.service;
+
+import com.red_badger.exception.InvalidInputException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MappedMissionReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @ValueSource(longs = {23, 24, 64, MappedMissionReader.DEFAULT_WINDOW_SIZE})
+    void readProducesSameOutputAsInputParser(final long windowSize) throws IOException {
+        // given
+        final var input = "5 3\r\n      1 1 E\r\nRFrfRFRF            \n\n3 2 n\nFRRFLLFFRRFLL\n\n                0 3 w\nLLFFFLFLFL\n0 0 N";
+        final Path mission = Files.writeString(tempDir.resolve("mission.txt"), input);
+
+        // when
+        final List<String> actual = new ArrayList<>();
+        new MappedMissionReader(windowSize).read(mission, new MissionRunner(actual::add));
+
+        // then
+        final List<String> expected = new ArrayList<>();
+        new InputParser().parseInput(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), new MissionRunner(expected::add));
+        assertThat(actual).containsExactly("1 1 E", "3 3 N LOST", "2 3 S", "0 0 N").containsExactlyElementsOf(expected);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "5 3\n0 0\nRFRFRFRF\n",
+            "5 a\n0 0 N\nRF\n",
+            "51 3\n0 0 N\nRF\n",
+            "+5 3\n0 0 X\nRF\n",
+            "5 3\n6 1 E\nRF\n",
+            "5 3\n1 1 E\nRFB\n",
+            "5 3\n1 1 E\n",
+    })
+    void readReportsSameErrorAsInputParser(final String input) throws IOException {
+        // given
+        final Path mission = Files.writeString(tempDir.resolve("mission.txt"), input);
+        final var expected = new InputParser();
+
+        // when / then
+        assertThatThrownBy(() -> expected.parseInput(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), new MissionRunner(line -> {
+        }))).isInstanceOf(InvalidInputException.class)
+                .satisfies(expectedError -> assertThatThrownBy(() -> new MappedMissionReader().read(mission, new MissionRunner(line -> {
+                })))
+                        .isInstanceOf(InvalidInputException.class)
+                        .hasMessage(expectedError.getMessage()));
+    }
+
+    @Test
+    void readRejectsLineLongerThanWindow() throws IOException {
+        // given
+        final Path mission = Files.writeString(tempDir.resolve("mission.txt"), "5 3\n1 1 E\n" + "F".repeat(40) + "\n1 1 E\nF\n");
+
+        // when / then
+        assertThatThrownBy(() -> new MappedMissionReader(16).read(mission, new MissionRunner(line -> {
+        })))
+                .isInstanceOf(InvalidInputException.class)
+                .hasMessage(InvalidInputException.MESSAGE.formatted(MappedMissionReader.LINE_TOO_LONG_ERROR.formatted(16)));
+    }
+}
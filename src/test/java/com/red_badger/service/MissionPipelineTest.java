@@ -0,0 +1,127 @@
+package com.red_badger.service;
+
+import com.red_badger.exception.InvalidInputException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MissionPipelineTest {
+
+    @Test
+    void runWritesResultsInInputOrder() {
+        // given
+        final var input = """
+                5 3
+                1 1 E
+                RFRFRFRF
+                3 2 N
+                FRRFLLFFRRFLL
+                0 3 W
+                LLFFFLFLFL
+                """;
+        final List<String> output = new ArrayList<>();
+
+        // when
+        new MissionPipeline(1).run(toStream(input), output::add);
+
+        // then
+        assertThat(output).containsExactly("1 1 E", "3 3 N LOST", "2 3 S");
+    }
+
+    @Test
+    void runWritesResultsThroughResultWriter() {
+        // given
+        final var input = new StringBuilder("5 3\n");
+        for (int i = 0; i < 100; i++) {
+            input.append("3 2 N\nFRRFLLFFRRFLL\n");
+        }
+        final var bytes = new ByteArrayOutputStream();
+
+        // when
+        new MissionPipeline(4).run(toStream(input.toString()), new ResultWriter(bytes, 64));
+
+        // then
+        assertThat(bytes.toString(StandardCharsets.UTF_8).lines())
+                .hasSize(100).startsWith("3 3 N LOST").endsWith("3 2 N");
+    }
+
+    @Test
+    void runHandlesMoreRobotsThanQueueCapacity() {
+        // given
+        final var input = new StringBuilder("5 3\n");
+        for (int i = 0; i < 1_000; i++) {
+            input.append("1 1 E\nRFRFRFRF\n");
+        }
+        final List<String> output = new ArrayList<>();
+
+        // when
+        new MissionPipeline(4).run(toStream(input.toString()), output::add);
+
+        // then
+        assertThat(output).hasSize(1_000).containsOnly("1 1 E");
+    }
+
+    @Test
+    void runRethrowsParserFailureAfterWritingEarlierResults() {
+        // given
+        final var input = """
+                5 3
+                1 1 E
+                RFRFRFRF
+                0 0
+                RFRFRFRF
+                """;
+        final List<String> output = Collections.synchronizedList(new ArrayList<>());
+
+        // when / then
+        assertThatThrownBy(() -> new MissionPipeline(1).run(toStream(input), output::add))
+                .isInstanceOf(InvalidInputException.class)
+                .hasMessage(InvalidInputException.MESSAGE.formatted(InputParser.ROBOT_INSTRUCTION_SIZE_ERROR.formatted("0 0")));
+        assertThat(output).containsExactly("1 1 E");
+    }
+
+    @Test
+    @Timeout(10)
+    void runRethrowsOutputFailureWhileReaderIsBlockedOnInput() {
+        // given
+        final var input = new SequenceInputStream(toStream("5 3\n1 1 E\nRFRFRFRF\n"), new NeverEndingInputStream());
+        final var failure = new IllegalStateException("output closed");
+
+        // when / then
+        assertThatThrownBy(() -> new MissionPipeline(1).run(input, result -> {
+            throw failure;
+        })).isSameAs(failure);
+    }
+
+    private static ByteArrayInputStream toStream(final String input) {
+        return new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Blocks every read and, like {@code System.in}, ignores interrupts.
+     */
+    private static final class NeverEndingInputStream extends InputStream {
+
+        @Override
+        public int read() {
+            while (true) {
+                try {
+                    Thread.sleep(Long.MAX_VALUE);
+                } catch (final InterruptedException ignored) {
+                    // keep blocking
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.red_badger.service;
+
+import com.red_badger.domain.Grid;
+import com.red_badger.domain.MarsRobot;
+import com.red_badger.enums.Orientation;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.red_badger.enums.Command.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MissionRunnerTest {
+
+    @Test
+    void onRobotOutputsResultImmediately() {
+        // given
+        final List<String> output = new ArrayList<>();
+        final var classUnderTest = new MissionRunner(output::add);
+        classUnderTest.onGrid(Grid.createGrid(5, 3));
+
+        // when
+        classUnderTest.onRobot(new MarsRobot(1, 1, Orientation.E), List.of(R, F, R, F, R, F, R, F));
+
+        // then
+        assertThat(output).containsExactly("1 1 E");
+
+        // when
+        classUnderTest.onRobot(new MarsRobot(3, 2, Orientation.N), List.of(F, R, R, F, L, L, F, F, R, R, F, L, L));
+        classUnderTest.onRobot(new MarsRobot(0, 3, Orientation.W), List.of(L, L, F, F, F, L, F, L, F, L));
+
+        // then
+        assertThat(output).containsExactly("1 1 E", "3 3 N LOST", "2 3 S");
+    }
+}
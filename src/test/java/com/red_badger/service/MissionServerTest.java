@@ -0,0 +1,162 @@
+package com.red_badger.service;
+
+import com.red_badger.domain.Grid;
+import com.red_badger.exception.InvalidInputException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MissionServerTest {
+
+    private static final String SAMPLE_INPUT = """
+            5 3
+            1 1 E
+            RFRFRFRF
+            3 2 N
+            FRRFLLFFRRFLL
+            0 3 W
+            LLFFFLFLFL
+            """;
+
+    private MissionServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new MissionServer(0);
+        final var acceptor = new Thread(server, "mission-server-test");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        server.close();
+    }
+
+    @Test
+    void answersMissionOnTheSameConnection() throws IOException {
+        assertThat(send(SAMPLE_INPUT)).containsExactly("1 1 E", "3 3 N LOST", "2 3 S");
+    }
+
+    @Test
+    void sessionsHaveTheirOwnGrid() {
+        final var clients = Executors.newFixedThreadPool(16);
+        try {
+            final List<CompletableFuture<List<String>>> responses = IntStream.range(0, 100)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                        try {
+                            return send(SAMPLE_INPUT);
+                        } catch (final IOException e) {
+                            throw new RuntimeException(e);
+                        }
+                    }, clients))
+                    .collect(Collectors.toList());
+
+            for (CompletableFuture<List<String>> response : responses) {
+                assertThat(response.join()).containsExactly("1 1 E", "3 3 N LOST", "2 3 S");
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    @Test
+    void answersInvalidMissionWithErrorAfterEarlierResults() throws IOException {
+        final List<String> response = send("5 3\n1 1 E\nRFRFRFRF\n3 2 X\nF\n");
+
+        assertThat(response).hasSize(2);
+        assertThat(response.get(0)).isEqualTo("1 1 E");
+        assertThat(response.get(1)).startsWith(InvalidInputException.MESSAGE.formatted("Invalid robot orientation"));
+    }
+
+    @Test
+    void sessionsOnSharedGridSeeEachOthersScent() throws IOException {
+        server.close();
+        server = new MissionServer(0, Grid.createConcurrentGrid(5, 3, Grid.MAX_VALUE));
+        final var acceptor = new Thread(server, "mission-server-test");
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+        assertThat(send("5 3\n3 2 N\nFRRFLLFFRRFLL\n")).containsExactly("3 3 N LOST");
+        assertThat(send("5 3\n3 2 N\nFRRFLLFFRRFLL\n")).containsExactly("3 2 N");
+        assertThat(send("4 3\n3 2 N\nF\n")).singleElement().asString()
+                .isEqualTo(InvalidInputException.MESSAGE.formatted(SharedGridListener.BOUNDS_MISMATCH_ERROR.formatted(5, 3, 4, 3)));
+    }
+
+    @Test
+    void answersEveryRobotBeforeTheClientSendsTheNext() throws IOException {
+        try (var socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            final var output = socket.getOutputStream();
+            final var reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+
+            output.write("5 3\n1 1 E\nRFRFRFRF\n".getBytes(StandardCharsets.UTF_8));
+            assertThat(reader.readLine()).isEqualTo("1 1 E");
+
+            output.write("3 2 N\nFRRFLLFFRRFLL\n".getBytes(StandardCharsets.UTF_8));
+            assertThat(reader.readLine()).isEqualTo("3 3 N LOST");
+
+            socket.shutdownOutput();
+            assertThat(reader.readLine()).isNull();
+        }
+    }
+
+    @Test
+    void endsSessionSendingEndlessLine() throws IOException {
+        try (var socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            final var line = "F".repeat(InputParser.MAX_INSTRUCTION_SIZE + MissionServer.LINE_PADDING + 1);
+            socket.getOutputStream().write(("5 3\n1 1 E\n" + line).getBytes(StandardCharsets.UTF_8));
+
+            assertThat(receive(socket)).containsExactly(InvalidInputException.MESSAGE.formatted(
+                    MissionServer.LINE_LENGTH_ERROR.formatted(InputParser.MAX_INSTRUCTION_SIZE + MissionServer.LINE_PADDING)));
+        }
+    }
+
+    @Test
+    void endsIdleSessionAfterTimeout() throws IOException {
+        server.close();
+        server = new MissionServer(0, null, 200);
+        final var acceptor = new Thread(server, "mission-server-test");
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+        try (var socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            socket.getOutputStream().write("5 3\n1 1 E\nRFRFRFRF\n".getBytes(StandardCharsets.UTF_8));
+
+            assertThat(receive(socket)).containsExactly("1 1 E",
+                    InvalidInputException.MESSAGE.formatted(MissionServer.SESSION_TIMEOUT_ERROR.formatted(200)));
+        }
+    }
+
+    private List<String> send(final String mission) throws IOException {
+        try (var socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort())) {
+            socket.getOutputStream().write(mission.getBytes(StandardCharsets.UTF_8));
+            socket.shutdownOutput();
+            return receive(socket);
+        }
+    }
+
+    private static List<String> receive(final Socket socket) throws IOException {
+        final var reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        final List<String> lines = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lines.add(line);
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,126 @@
+package com.red_badger.service;
+
+import com.red_badger.exception.InvalidInputException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParallelMissionReaderTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 16, 64, ParallelMissionReader.DEFAULT_CHUNK_SIZE})
+    void readProducesSameOutputAsInputParser(final int chunkSize) throws IOException {
+        // given
+        final var input = "\n\n5 3\r\n      1 1 E\r\nRFrfRFRF            \n\n3 2 n\nFRRFLLFFRRFLL\n\n                0 3 w\nLLFFFLFLFL\n0 0 N";
+        final Path mission = Files.writeString(tempDir.resolve("mission.txt"), input);
+
+        // when
+        final List<String> actual = new ArrayList<>();
+        new ParallelMissionReader(chunkSize, new InputParser(), pool).read(mission, new MissionRunner(actual::add));
+
+        // then
+        assertThat(actual).containsExactly("1 1 E", "3 3 N LOST", "2 3 S", "0 0 N").containsExactlyElementsOf(parse(input));
+    }
+
+    @Test
+    void readProducesSameOutputAsInputParserForLargeMission() throws IOException {
+        // given
+        final var random = new Random(7);
+        final var input = new StringBuilder("20 20\n");
+        for (int robot = 0; robot < 2_000; robot++) {
+            input.append(" ".repeat(random.nextInt(2)))
+                    .append(random.nextInt(21)).append(' ').append(random.nextInt(21)).append(' ')
+                    .append("NESW".charAt(random.nextInt(4))).append('\n')
+                    .append("\n".repeat(random.nextInt(2)));
+            final int length = 1 + random.nextInt(60);
+            for (int command = 0; command < length; command++) {
+                input.append("LRFF".charAt(random.nextInt(4)));
+            }
+            input.append('\n');
+        }
+        final Path mission = Files.writeString(tempDir.resolve("mission.txt"), input);
+
+        // when
+        final List<String> actual = new ArrayList<>();
+        new ParallelMissionReader(100, new InputParser(), pool).read(mission, new MissionRunner(actual::add));
+
+        // then
+        assertThat(actual).hasSize(2_000).containsExactlyElementsOf(parse(input.toString()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "\n  \n",
+            "5 3\n0 0\nRFRFRFRF\n",
+            "5 a\n0 0 N\nRF\n",
+            "51 3\n0 0 N\nRF\n",
+            "+5 3\n0 0 X\nRF\n",
+            "5 3\n6 1 E\nRF\n",
+            "5 3\n1 1 E\nRFB\n",
+            "5 3\n1 1 E\n",
+            "5 3\n1 1 E\nRF\n1 1 E\nRF\n1 1 E\nRF\n1 1 E\nRF\n6 1 E\nRF\n1 1 E\nRFB\n",
+            "5 3\n1 1 E\nRF\n1 1 E\nRF\n1 1 E\nRF\n1 1 E\nRF\n1 1 E\nRF\n1 1 E\nRFX\n",
+    })
+    void readReportsSameErrorAsInputParser(final String input) throws IOException {
+        // given
+        final Path mission = Files.writeString(tempDir.resolve("mission.txt"), input);
+
+        // when / then
+        assertThatThrownBy(() -> parse(input)).isInstanceOf(InvalidInputException.class)
+                .satisfies(expectedError -> assertThatThrownBy(() -> new ParallelMissionReader(8, new InputParser(), pool)
+                        .read(mission, new MissionRunner(line -> {
+                        })))
+                        .isInstanceOf(InvalidInputException.class)
+                        .hasMessage(expectedError.getMessage()));
+    }
+
+    @Test
+    void readPassesOnRobotsBeforeInvalidLine() throws IOException {
+        // given
+        final var input = "5 3\n1 1 E\nRF\n2 2 N\nF\n3 3 S\nF\n9 9 N\nF\n1 1 E\nRF\n";
+        final Path mission = Files.writeString(tempDir.resolve("mission.txt"), input);
+
+        // when
+        final List<String> actual = new ArrayList<>();
+        assertThatThrownBy(() -> new ParallelMissionReader(4, new InputParser(), pool).read(mission, new MissionRunner(actual::add)))
+                .isInstanceOf(InvalidInputException.class);
+
+        // then
+        final List<String> expected = new ArrayList<>();
+        assertThatThrownBy(() -> new InputParser().parseInput(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)),
+                new MissionRunner(expected::add))).isInstanceOf(InvalidInputException.class);
+        assertThat(actual).hasSize(3).containsExactlyElementsOf(expected);
+    }
+
+    private static List<String> parse(final String input) {
+        final List<String> results = new ArrayList<>();
+        new InputParser().parseInput(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), new MissionRunner(results::add));
+        return results;
+    }
+}
@@ -0,0 +1,117 @@
+package com.red_badger.service;
+
+import com.red_badger.domain.CommandRegistry;
+import com.red_badger.enums.Command;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelMissionRunnerTest {
+
+    @Test
+    void producesSampleOutput() {
+        final var input = """
+                5 3
+                1 1 E
+                RFRFRFRF
+                3 2 N
+                FRRFLLFFRRFLL
+                0 3 W
+                LLFFFLFLFL
+                """;
+
+        assertThat(runParallel(input, 2, 1)).containsExactly("1 1 E", "3 3 N LOST", "2 3 S");
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "1000, 1",
+            "1000, 7",
+            "256, 64",
+            "10000, 1000",
+    })
+    void outputMatchesSequentialRun(final int batchSize, final int chunkSize) {
+        final String input = randomMission(new Random(7), 5_000);
+
+        final List<String> sequential = new ArrayList<>();
+        new InputParser().parseInput(toStream(input), new MissionRunner(sequential::add));
+
+        assertThat(runParallel(input, batchSize, chunkSize)).containsExactlyElementsOf(sequential);
+    }
+
+    @Test
+    void outputMatchesSequentialRunWhenParkingRobots() {
+        final String input = randomMission(new Random(9), 2_000);
+        System.setProperty(InputProcessor.PARK_ROBOTS_PROPERTY, "true");
+        try {
+            final List<String> sequential = new ArrayList<>();
+            new InputParser().parseInput(toStream(input), new MissionRunner(sequential::add));
+
+            assertThat(runParallel(input, 256, 16)).containsExactlyElementsOf(sequential);
+        } finally {
+            System.clearProperty(InputProcessor.PARK_ROBOTS_PROPERTY);
+        }
+    }
+
+    @Test
+    void writesResultsThroughResultWriter() {
+        final String input = randomMission(new Random(3), 1_000);
+        final List<String> sequential = new ArrayList<>();
+        new InputParser().parseInput(toStream(input), new MissionRunner(sequential::add));
+
+        final var bytes = new ByteArrayOutputStream();
+        new InputParser().parseInput(toStream(input), new ParallelMissionRunner(new ResultWriter(bytes, 64)));
+
+        assertThat(bytes.toString(StandardCharsets.UTF_8).lines()).containsExactlyElementsOf(sequential);
+    }
+
+    @Test
+    void outputMatchesSequentialRunWithBackwardMoves() {
+        final var parser = new InputParser(CommandRegistry.standard().withCommand(Command.B));
+        final String input = randomMission(new Random(11), 2_000, "LRFFB");
+
+        final List<String> sequential = new ArrayList<>();
+        parser.parseInput(toStream(input), new MissionRunner(sequential::add));
+        final List<String> parallel = new ArrayList<>();
+        parser.parseInput(toStream(input), new ParallelMissionRunner(parallel::add, 256, 1));
+
+        assertThat(parallel).containsExactlyElementsOf(sequential);
+    }
+
+    private static List<String> runParallel(final String input, final int batchSize, final int chunkSize) {
+        final List<String> output = new ArrayList<>();
+        new InputParser().parseInput(toStream(input), new ParallelMissionRunner(output::add, batchSize, chunkSize));
+        return output;
+    }
+
+    private static String randomMission(final Random random, final int robots) {
+        return randomMission(random, robots, "LRFF");
+    }
+
+    private static String randomMission(final Random random, final int robots, final String commands) {
+        final var input = new StringBuilder("7 4\n");
+        for (int i = 0; i < robots; i++) {
+            input.append(random.nextInt(8)).append(' ').append(random.nextInt(5)).append(' ')
+                    .append("NSEW".charAt(random.nextInt(4))).append('\n');
+            final int length = 1 + random.nextInt(30);
+            for (int c = 0; c < length; c++) {
+                input.append(commands.charAt(random.nextInt(commands.length())));
+            }
+            input.append('\n');
+        }
+        return input.toString();
+    }
+
+    private static ByteArrayInputStream toStream(final String input) {
+        return new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,33 @@
+package com.red_badger.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.red_badger.enums.Command.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProgramCompilerTest {
+
+    @Test
+    void compileReusesCachedProgram() {
+        final var classUnderTest = new ProgramCompiler();
+
+        final var program = classUnderTest.compile(List.of(R, F, R, F));
+
+        assertThat(classUnderTest.compile(List.of(R, F, R, F))).isSameAs(program);
+    }
+
+    @Test
+    void compileEvictsLeastRecentlyUsedProgram() {
+        final var classUnderTest = new ProgramCompiler(2);
+
+        final var first = classUnderTest.compile(List.of(F));
+        final var second = classUnderTest.compile(List.of(L, F));
+        classUnderTest.compile(List.of(F));
+        classUnderTest.compile(List.of(R, F));
+
+        assertThat(classUnderTest.compile(List.of(F))).isSameAs(first);
+        assertThat(classUnderTest.compile(List.of(L, F))).isNotSameAs(second).isEqualTo(second);
+    }
+}
@@ -0,0 +1,90 @@
+package com.red_badger.service;
+
+import com.red_badger.domain.CompiledProgram;
+import com.red_badger.domain.Grid;
+import com.red_badger.domain.MarsRobot;
+import com.red_badger.domain.SimulationResult;
+import com.red_badger.enums.CommandResult;
+import com.red_badger.enums.Orientation;
+import com.red_badger.metrics.MotionTally;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.red_badger.enums.Command.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResultCacheTest {
+
+    @Test
+    void getOrSimulateReusesResultForSamePoseAndProgram() {
+        final var classUnderTest = new ResultCache();
+        final var grid = Grid.createGrid(5, 3);
+        final var program = CompiledProgram.compile(List.of(R, F, R, F));
+        final var simulations = new AtomicInteger();
+
+        final SimulationResult first = classUnderTest.getOrSimulate(grid, new MarsRobot(1, 1, Orientation.E), program, new MotionTally(), () -> result(simulations.incrementAndGet(), CommandResult.EXECUTED));
+        final SimulationResult second = classUnderTest.getOrSimulate(grid, new MarsRobot(1, 1, Orientation.E), program, new MotionTally(), () -> result(simulations.incrementAndGet(), CommandResult.EXECUTED));
+        final SimulationResult otherPose = classUnderTest.getOrSimulate(grid, new MarsRobot(1, 1, Orientation.N), program, new MotionTally(), () -> result(simulations.incrementAndGet(), CommandResult.EXECUTED));
+
+        assertThat(first).isEqualTo(result(1, CommandResult.EXECUTED));
+        assertThat(second).isEqualTo(result(1, CommandResult.EXECUTED));
+        assertThat(otherPose).isEqualTo(result(2, CommandResult.EXECUTED));
+    }
+
+    @Test
+    void getOrSimulateRecomputesAfterScentChanges() {
+        final var classUnderTest = new ResultCache();
+        final var grid = Grid.createGrid(5, 3);
+        final var program = CompiledProgram.compile(List.of(F));
+        final var simulations = new AtomicInteger();
+
+        classUnderTest.getOrSimulate(grid, new MarsRobot(1, 1, Orientation.E), program, new MotionTally(), () -> result(simulations.incrementAndGet(), CommandResult.EXECUTED));
+        grid.scentPosition(5, 3, Orientation.N);
+        final SimulationResult afterScent = classUnderTest.getOrSimulate(grid, new MarsRobot(1, 1, Orientation.E), program, new MotionTally(), () -> result(simulations.incrementAndGet(), CommandResult.EXECUTED));
+
+        assertThat(afterScent).isEqualTo(result(2, CommandResult.EXECUTED));
+    }
+
+    @Test
+    void getOrSimulateDoesNotCacheResultThatScentedTheGrid() {
+        final var classUnderTest = new ResultCache();
+        final var grid = Grid.createGrid(5, 3);
+        final var program = CompiledProgram.compile(List.of(F));
+        final var simulations = new AtomicInteger();
+
+        classUnderTest.getOrSimulate(grid, new MarsRobot(5, 3, Orientation.N), program, new MotionTally(), () -> {
+            grid.scentPosition(5, 3, Orientation.N);
+            return result(simulations.incrementAndGet(), CommandResult.LOST);
+        });
+        final SimulationResult next = classUnderTest.getOrSimulate(grid, new MarsRobot(5, 3, Orientation.N), program, new MotionTally(), () -> result(simulations.incrementAndGet(), CommandResult.EXECUTED));
+
+        assertThat(next).isEqualTo(result(2, CommandResult.EXECUTED));
+    }
+
+    @Test
+    void getOrSimulateCountsMotionOfReusedResult() {
+        final var classUnderTest = new ResultCache();
+        final var grid = Grid.createGrid(5, 3);
+        final var program = CompiledProgram.compile(List.of(R, F, R, F));
+        final var first = new MotionTally();
+        final var second = new MotionTally();
+
+        classUnderTest.getOrSimulate(grid, new MarsRobot(1, 1, Orientation.E), program, first, () -> {
+            first.moved(2);
+            first.turned(2);
+            return result(1, CommandResult.EXECUTED);
+        });
+        classUnderTest.getOrSimulate(grid, new MarsRobot(1, 1, Orientation.E), program, second, () -> result(2, CommandResult.EXECUTED));
+
+        assertThat(second.getMoves()).isEqualTo(2);
+        assertThat(second.getTurns()).isEqualTo(2);
+        assertThat(second.getScentBlockedMoves()).isZero();
+    }
+
+    // the x coordinate tells the simulations apart
+    private static SimulationResult result(final int simulation, final CommandResult result) {
+        return new SimulationResult(simulation, 0, Orientation.N, result);
+    }
+}
@@ -0,0 +1,78 @@
+package com.red_badger.service;
+
+import com.red_badger.domain.SimulationResult;
+import com.red_badger.enums.CommandResult;
+import com.red_badger.enums.Orientation;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResultWriterTest {
+
+    private static final String NEW_LINE = System.lineSeparator();
+
+    @Test
+    void writeFormatsResultsLikeSimulationResult() {
+        // given
+        final var output = new ByteArrayOutputStream();
+        final var classUnderTest = new ResultWriter(output);
+        final var results = new SimulationResult[]{
+                new SimulationResult(1, 1, Orientation.E, CommandResult.EXECUTED),
+                new SimulationResult(3, 3, Orientation.N, CommandResult.LOST),
+                new SimulationResult(0, 50, Orientation.S, CommandResult.BLOCKED),
+                new SimulationResult(Integer.MAX_VALUE, Integer.MIN_VALUE, Orientation.W, CommandResult.LOST)
+        };
+
+        // when
+        for (SimulationResult result : results) {
+            classUnderTest.write(result);
+        }
+        classUnderTest.flush();
+
+        // then
+        final var expected = new StringBuilder();
+        for (SimulationResult result : results) {
+            expected.append(result.format()).append(NEW_LINE);
+        }
+        assertThat(output.toString(StandardCharsets.US_ASCII)).isEqualTo(expected.toString());
+    }
+
+    @Test
+    void writeBuffersUntilFullOrFlushed() {
+        // given
+        final var output = new ByteArrayOutputStream();
+        final var classUnderTest = new ResultWriter(output, 40);
+
+        // when
+        classUnderTest.write(1, 1, Orientation.E, CommandResult.EXECUTED);
+
+        // then
+        assertThat(output.size()).isZero();
+
+        // when
+        classUnderTest.write(2, 2, Orientation.N, CommandResult.LOST);
+        classUnderTest.write("a line longer than the buffer of the writer");
+
+        // then
+        assertThat(output.toString(StandardCharsets.US_ASCII))
+                .isEqualTo("1 1 E" + NEW_LINE + "2 2 N LOST" + NEW_LINE + "a line longer than the buffer of the writer" + NEW_LINE);
+    }
+
+    @Test
+    void closeFlushesToChannel() {
+        // given
+        final var output = new ByteArrayOutputStream();
+        final var classUnderTest = new ResultWriter(Channels.newChannel(output));
+
+        // when
+        classUnderTest.write(12, 345, Orientation.W, CommandResult.EXECUTED);
+        classUnderTest.close();
+
+        // then
+        assertThat(output.toString(StandardCharsets.US_ASCII)).isEqualTo("12 345 W" + NEW_LINE);
+    }
+}
@@ -0,0 +1,135 @@
+package com.red_badger.trace;
+
+import com.red_badger.domain.Grid;
+import com.red_badger.domain.MarsRobot;
+import com.red_badger.enums.Orientation;
+import com.red_badger.service.InputParser;
+import com.red_badger.service.InputProcessor;
+import com.red_badger.service.MissionRunner;
+import com.red_badger.service.ResultWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static com.red_badger.enums.Command.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PathTracerTest {
+
+    private static final String SAMPLE_INPUT = """
+            5 3
+            1 1 E
+            RFRFRFRF
+            3 2 N
+            FRRFLLFFRRFLL
+            0 3 W
+            LLFFFLFLFL
+            """;
+
+    @Test
+    void tracesPathOfSelectedRobots() throws IOException {
+        // given
+        final var trace = new ByteArrayOutputStream();
+        final var results = new ByteArrayOutputStream();
+        final var tracer = new PathTracer(trace, RobotFilter.parse("2"), 16);
+        final var resultWriter = new ResultWriter(results);
+
+        // when
+        new InputParser().parseInput(toStream(SAMPLE_INPUT), new MissionRunner(resultWriter, tracer));
+        resultWriter.flush();
+        tracer.close();
+
+        // then
+        assertThat(results.toString(StandardCharsets.US_ASCII)).isEqualTo("1 1 E\n3 3 N LOST\n2 3 S\n");
+        assertThat(readTrace(trace.toByteArray())).containsExactly(
+                "2 0 3 2 N", "2 1 3 3 N", "2 2 3 3 E", "2 3 3 3 S", "2 4 3 2 S", "2 5 3 2 E", "2 6 3 2 N",
+                "2 7 3 3 N", "2 8 3 3 N"
+        );
+    }
+
+    @Test
+    void dropsEventsInsteadOfWaitingForSlowOutput() throws IOException {
+        // given
+        // holds the flushing thread as soon as its output buffer is full
+        final var writing = new CountDownLatch(1);
+        final var trace = new ByteArrayOutputStream();
+        final var blockedOutput = new OutputStream() {
+            @Override
+            public void write(final int b) throws IOException {
+                try {
+                    writing.await();
+                } catch (final InterruptedException e) {
+                    throw new IOException(e);
+                }
+                trace.write(b);
+            }
+        };
+        final var classUnderTest = new PathTracer(blockedOutput, RobotFilter.ALL, 4);
+
+        // when
+        for (int step = 0; step < 4; step++) {
+            classUnderTest.record(1, step, step, 0, Orientation.E);
+        }
+        final List<String> events = new ArrayList<>();
+        while (classUnderTest.getDroppedEvents() == 0) {
+            classUnderTest.record(1, 4, 4, 0, Orientation.E);
+        }
+        writing.countDown();
+        classUnderTest.close();
+
+        // then
+        final long dropped = PathTracer.read(new ByteArrayInputStream(trace.toByteArray()), event -> events.add(event.format()));
+        assertThat(dropped).isEqualTo(classUnderTest.getDroppedEvents()).isPositive();
+        assertThat(events).startsWith("1 0 0 0 E", "1 1 1 0 E", "1 2 2 0 E", "1 3 3 0 E");
+    }
+
+    @Test
+    void tracedSimulationMatchesUntracedOne() throws IOException {
+        // given
+        final var tracer = new PathTracer(OutputStream.nullOutputStream(), RobotFilter.ALL, 1 << 10);
+        final var tracedOutput = new ArrayList<String>();
+        final var output = new ArrayList<String>();
+        final var grid = Grid.createGrid(5, 3);
+        final var sameGrid = Grid.createGrid(5, 3);
+        final var processor = new InputProcessor(grid);
+        final var sameProcessor = new InputProcessor(sameGrid);
+
+        // when
+        for (int robot = 0; robot < 20; robot++) {
+            final var commands = List.of(F, F, F, R, F, F, F, F, F, F, L, F, F);
+            tracedOutput.add(processor.simulate(new MarsRobot(robot % 6, robot % 4, Orientation.values()[robot % 4]), commands, tracer, robot + 1).format());
+            output.add(sameProcessor.simulate(new MarsRobot(robot % 6, robot % 4, Orientation.values()[robot % 4]), commands).format());
+        }
+        tracer.close();
+
+        // then
+        assertThat(tracedOutput).isEqualTo(output);
+        assertThat(grid).isEqualTo(sameGrid);
+    }
+
+    @Test
+    void rejectsOtherFiles() {
+        assertThatThrownBy(() -> PathTracer.read(toStream("5 3\n"), event -> {
+        }))
+                .isInstanceOf(IOException.class)
+                .hasMessage(PathTracer.INVALID_TRACE_ERROR);
+    }
+
+    private static List<String> readTrace(final byte[] trace) throws IOException {
+        final List<String> events = new ArrayList<>();
+        assertThat(PathTracer.read(new ByteArrayInputStream(trace), event -> events.add(event.format()))).isZero();
+        return events;
+    }
+
+    private static ByteArrayInputStream toStream(final String input) {
+        return new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,38 @@
+package com.red_badger.trace;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RobotFilterTest {
+
+    @Test
+    void acceptsListedIdsAndRanges() {
+        final var classUnderTest = RobotFilter.parse("42, 10-20,1,15-25");
+
+        assertThat(classUnderTest.accepts(1)).isTrue();
+        assertThat(classUnderTest.accepts(2)).isFalse();
+        assertThat(classUnderTest.accepts(9)).isFalse();
+        assertThat(classUnderTest.accepts(10)).isTrue();
+        assertThat(classUnderTest.accepts(25)).isTrue();
+        assertThat(classUnderTest.accepts(26)).isFalse();
+        assertThat(classUnderTest.accepts(42)).isTrue();
+        assertThat(classUnderTest.accepts(43)).isFalse();
+    }
+
+    @Test
+    void blankFilterAcceptsEveryRobot() {
+        assertThat(RobotFilter.parse(null)).isSameAs(RobotFilter.ALL);
+        assertThat(RobotFilter.parse(" ").accepts(Integer.MAX_VALUE)).isTrue();
+    }
+
+    @Test
+    void rejectsInvalidFilters() {
+        for (String filter : new String[]{"0", "5-3", "a", "1,,2", "-4"}) {
+            assertThatThrownBy(() -> RobotFilter.parse(filter))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage(RobotFilter.INVALID_FILTER_ERROR.formatted(filter));
+        }
+    }
+}